@@ -37,6 +37,20 @@ public class CLIService {
 		o = new Option("l", true, "Logging Level (1-3, ERROR/WARN/INFO)");
 		o.setArgName("Level");
 		this.options.addOption(o);
+
+		o = new Option("p", false, "Parallel Boot (construct independent types on all cores)");
+		this.options.addOption(o);
+
+		o = new Option("a", false, "Activation Pruning (heap only the Boot Module and what it needs, other modules stay dormant)");
+		this.options.addOption(o);
+
+		o = new Option("w", false, "Watch Modules Space (hot-deploy of new, changed or removed module-jars)");
+		this.options.addOption(o);
+
+		o = new Option("q", true, "Asynchronous Logging (ring-buffer), if full: block (default), drop or sample");
+		o.setArgName("Backpressure");
+		o.setOptionalArg(true);
+		this.options.addOption(o);
 	}
 
 	public CommandLine getCli() throws ParseException {
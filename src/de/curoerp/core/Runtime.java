@@ -8,7 +8,9 @@ import org.apache.commons.cli.ParseException;
 import de.curoerp.core.exception.RuntimeTroubleException;
 import de.curoerp.core.functionality.FunctionalityLoader;
 import de.curoerp.core.functionality.info.CoreInfo;
+import de.curoerp.core.logging.AsyncLogging;
 import de.curoerp.core.logging.Logging;
+import de.curoerp.core.logging.LoggingBackpressure;
 import de.curoerp.core.logging.LoggingLevel;
 import de.curoerp.core.logging.LoggingService;
 import de.curoerp.core.modularity.DependencyService;
@@ -17,24 +19,35 @@ import de.curoerp.core.modularity.dependency.DependencyContainer;
 import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
 import de.curoerp.core.modularity.module.ModuleInfo;
 
-public class Runtime {
+public class Runtime implements AutoCloseable {
 
 	private ModuleService modules;
 	private DependencyService resolver;
 	private CoreInfo info;
 	private String bootModule;
+	private boolean watching = false;
+	private Thread shutdownHook = null;
 	public Runtime(String bootModule, File baseFile) throws DependencyNotResolvedException {
 		this(bootModule, baseFile, LoggingLevel.DEBUG);
 	}
 
 	public Runtime(String bootModule, File baseFile, LoggingLevel logging) throws DependencyNotResolvedException {
+		this(bootModule, baseFile, new RuntimeOptions().setLogging(logging));
+	}
+
+	/**
+	 * @param options {@link RuntimeOptions} logging, parallel construction, pruning, watching
+	 */
+	public Runtime(String bootModule, File baseFile, RuntimeOptions options) throws DependencyNotResolvedException {
 		this.bootModule = bootModule;
+		this.watching = options.isWatching();
 		// start logging-service
-		LoggingService.DefaultLogging = new Logging(LoggingLevel.DEBUG);
+		LoggingService.DefaultLogging = options.getAsyncLogging() != null ? new AsyncLogging(options.getLogging(), options.getAsyncLogging()) : new Logging(options.getLogging());
 
 		// start di container and resolver
 		DependencyContainer container = new DependencyContainer();
 		this.resolver = new DependencyService(container);
+		this.resolver.setParallel(options.isParallel());
 
 		// info
 		LoggingService.info("Build CoreInfo");
@@ -44,6 +57,9 @@ public class Runtime {
 
 		// modules
 		this.modules = new ModuleService(this.resolver, container, this.info);
+		if(options.isPruning()) {
+			this.modules.setActivationRoot(bootModule);
+		}
 
 		// some nice shit
 		FunctionalityLoader loader = new FunctionalityLoader(this.resolver);
@@ -73,11 +89,50 @@ public class Runtime {
 		}
 	}
 
+	/**
+	 * hot-deploy: watch module-directory after boot, before the boot-module runs (it may block), see {@link RuntimeOptions#setWatching(boolean)}
+	 * 
+	 * called after boot => watching starts now; stopped by {@link #close()} or on shutdown
+	 */
+	public void watch() {
+		this.watching = true;
+		if(this.modules.isBooted()) {
+			this.startWatching();
+		}
+	}
+
+	private void startWatching() {
+		try {
+			this.modules.watch(this.info.getModuleDir());
+		} catch (RuntimeTroubleException e) {
+			LoggingService.error(e);
+			return;
+		}
+
+		if(this.shutdownHook == null) {
+			this.shutdownHook = new Thread(this.modules::unwatch, "module-watcher-shutdown");
+			java.lang.Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+		}
+	}
+
+	/**
+	 * stop watching module-directory (see {@link #watch()}), the jvm can exit
+	 */
+	@Override
+	public void close() {
+		this.watching = false;
+		this.modules.unwatch();
+	}
+
 	private void boot() throws RuntimeTroubleException {
 		this.modules.boot();
 
 		LoggingService.info("DlS started!");
 
+		if(this.watching) {
+			this.startWatching();
+		}
+
 		LoggingService.info("Jump into Boot-Module");
 
 		// finally: boot
@@ -127,7 +182,21 @@ public class Runtime {
 			}
 		}
 
-		Runtime r = new Runtime(cmd.getOptionValue("b"), new File(cmd.getOptionValue("s")), level);
+		// asynchronous logging
+		LoggingBackpressure backpressure = null;
+		if(cmd.hasOption("q")) {
+			try {
+				backpressure = cmd.getOptionValue("q") == null ? LoggingBackpressure.BLOCK : LoggingBackpressure.valueOf(cmd.getOptionValue("q").trim().toUpperCase());
+			} catch (IllegalArgumentException e) {
+				cli.displayHelp();
+				return;
+			}
+		}
+
+		RuntimeOptions options = new RuntimeOptions().setLogging(level).setAsyncLogging(backpressure)
+				.setParallel(cmd.hasOption("p")).setPruning(cmd.hasOption("a")).setWatching(cmd.hasOption("w"));
+
+		Runtime r = new Runtime(cmd.getOptionValue("b"), new File(cmd.getOptionValue("s")), options);
 		r.init();
 	}
 
@@ -0,0 +1,94 @@
+package de.curoerp.core;
+
+import de.curoerp.core.logging.LoggingBackpressure;
+import de.curoerp.core.logging.LoggingLevel;
+
+/**
+ * Options of the {@link Runtime}, every option has a default
+ *
+ * e.g. new RuntimeOptions().setLogging(LoggingLevel.INFO).setParallel(true)
+ *
+ * @category Dependency loading System
+ */
+public class RuntimeOptions {
+
+	private LoggingLevel logging = LoggingLevel.DEBUG;
+	private LoggingBackpressure asyncLogging = null;
+	private boolean parallel = false;
+	private boolean pruning = false;
+	private boolean watching = false;
+
+	/**
+	 * @param logging {@link LoggingLevel}, null => DEBUG (default)
+	 * @return {@link RuntimeOptions} this
+	 */
+	public RuntimeOptions setLogging(LoggingLevel logging) {
+		this.logging = logging != null ? logging : LoggingLevel.DEBUG;
+		return this;
+	}
+
+	/**
+	 * asynchronous logging
+	 *
+	 * @param asyncLogging {@link LoggingBackpressure} backpressure of the log-queue, null => synchronous (default)
+	 * @return {@link RuntimeOptions} this
+	 */
+	public RuntimeOptions setAsyncLogging(LoggingBackpressure asyncLogging) {
+		this.asyncLogging = asyncLogging;
+		return this;
+	}
+
+	/**
+	 * construct independent types parallel
+	 *
+	 * @param parallel {@link Boolean} default false
+	 * @return {@link RuntimeOptions} this
+	 */
+	public RuntimeOptions setParallel(boolean parallel) {
+		this.parallel = parallel;
+		return this;
+	}
+
+	/**
+	 * activation pruning: only the boot-module and everything it needs is resolved, every other module stays dormant
+	 *
+	 * @param pruning {@link Boolean} default false
+	 * @return {@link RuntimeOptions} this
+	 */
+	public RuntimeOptions setPruning(boolean pruning) {
+		this.pruning = pruning;
+		return this;
+	}
+
+	/**
+	 * hot-deploy: watch module-directory after boot (see {@link Runtime#watch()})
+	 *
+	 * @param watching {@link Boolean} default false
+	 * @return {@link RuntimeOptions} this
+	 */
+	public RuntimeOptions setWatching(boolean watching) {
+		this.watching = watching;
+		return this;
+	}
+
+	public LoggingLevel getLogging() {
+		return this.logging;
+	}
+
+	public LoggingBackpressure getAsyncLogging() {
+		return this.asyncLogging;
+	}
+
+	public boolean isParallel() {
+		return this.parallel;
+	}
+
+	public boolean isPruning() {
+		return this.pruning;
+	}
+
+	public boolean isWatching() {
+		return this.watching;
+	}
+
+}
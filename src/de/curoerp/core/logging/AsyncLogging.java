@@ -0,0 +1,267 @@
+package de.curoerp.core.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous Logging
+ *
+ * callers publish events into a bounded, lock-free ring-buffer (pre-allocated slots, multi-producer),
+ * one consumer thread formats (garbage-free, see {@link LogFormatter}) and writes them in batches. Full buffer => {@link LoggingBackpressure}.
+ * {@link #close()} (also on shutdown) writes every pending event.
+ */
+public class AsyncLogging extends Logging implements AutoCloseable {
+
+	public final static int DEFAULT_CAPACITY = 8192;
+
+	private final static int SAMPLE_RATE = 16;
+	private final static int BATCH_SIZE = 256;
+
+	/**
+	 * pre-allocated slot of the ring-buffer
+	 */
+	private final static class Event {
+		LoggingLevel level;
+		long time;
+		String msg;
+	}
+
+	private final LoggingBackpressure backpressure;
+
+	// ring-buffer: slot i is writable for position p if sequences[i] == p, readable if sequences[i] == p + 1
+	private final Event[] events;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong head = new AtomicLong();
+	private long tail = 0; // consumer only
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+
+	// consumer (or closing thread) only, guarded by drain
+	private final LogFormatter formatter = new LogFormatter();
+
+	private final Thread consumer;
+	private final Thread shutdownHook;
+	private volatile boolean parked = false;
+	private volatile boolean running = true;
+
+	/**
+	 * @param level {@link LoggingLevel}
+	 * @param backpressure {@link LoggingBackpressure} full ring-buffer
+	 */
+	public AsyncLogging(LoggingLevel level, LoggingBackpressure backpressure) {
+		this(level, backpressure, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param level {@link LoggingLevel}
+	 * @param backpressure {@link LoggingBackpressure} full ring-buffer
+	 * @param capacity {@link Integer} events in ring-buffer, rounded up to a power of 2
+	 */
+	public AsyncLogging(LoggingLevel level, LoggingBackpressure backpressure, int capacity) {
+		super(level);
+		this.backpressure = backpressure;
+
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.events = new Event[size];
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			this.events[i] = new Event();
+			this.sequences.set(i, i);
+		}
+		this.mask = size - 1;
+
+		this.consumer = new Thread(this::consume, "logging");
+		this.consumer.setDaemon(true);
+		this.consumer.start();
+
+		this.shutdownHook = new Thread(this::close, "logging-flush");
+		Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+	}
+
+	/*
+	 * producer
+	 */
+
+	@Override
+	protected void write(LoggingLevel level, long time, String msg) {
+		if(!this.running) {
+			// closed: synchronous
+			super.write(level, time, msg);
+			return;
+		}
+
+		long position;
+		boolean wait = false;
+		while(true) {
+			position = this.head.get();
+			long sequence = this.sequences.get((int) position & this.mask);
+			if(sequence == position) {
+				if(this.head.compareAndSet(position, position + 1)) {
+					break;
+				}
+			} else if(sequence < position) {
+				// full
+				if(!wait && !(wait = this.waitForSlot(level))) {
+					this.dropped.incrementAndGet();
+					return;
+				}
+				this.wakeUp();
+				LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+				if(!this.running) {
+					super.write(level, time, msg);
+					return;
+				}
+			}
+			// else: slot taken by another producer, retry
+		}
+
+		int slot = (int) position & this.mask;
+		Event event = this.events[slot];
+		event.level = level;
+		event.time = time;
+		event.msg = msg;
+		this.sequences.lazySet(slot, position + 1);
+
+		if(!this.running) {
+			// closed while publishing, consumer is gone
+			this.drainAll();
+		} else if(this.parked) {
+			this.wakeUp();
+		}
+	}
+
+	private boolean waitForSlot(LoggingLevel level) {
+		switch (this.backpressure) {
+		case DROP:
+			return false;
+		case SAMPLE:
+			return level == LoggingLevel.ERROR || level == LoggingLevel.WARN || this.rejected.incrementAndGet() % SAMPLE_RATE == 0;
+		default:
+			return true;
+		}
+	}
+
+	private void wakeUp() {
+		this.parked = false;
+		LockSupport.unpark(this.consumer);
+	}
+
+	/*
+	 * consumer
+	 */
+
+	private void consume() {
+		while(this.running) {
+			if(this.drain() == 0) {
+				this.parked = true;
+				// re-check, a producer may have published before the flag was visible
+				if(this.isEmpty()) {
+					LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+				}
+				this.parked = false;
+			}
+		}
+	}
+
+	/**
+	 * format & write at most one batch
+	 *
+	 * @return {@link Integer} written events
+	 */
+	private synchronized int drain() {
+		LogFormatter batch = this.formatter;
+		int count = 0;
+		while(count < BATCH_SIZE) {
+			int slot = (int) this.tail & this.mask;
+			if(this.sequences.get(slot) != this.tail + 1) {
+				break;
+			}
+
+			Event event = this.events[slot];
+			batch.format(event.level, event.time, event.msg);
+			event.msg = null;
+			this.sequences.lazySet(slot, this.tail + this.events.length);
+			this.tail++;
+			count++;
+		}
+
+		long dropped = this.dropped.getAndSet(0);
+		if(dropped > 0) {
+			batch.format(LoggingLevel.WARN, System.currentTimeMillis(), dropped + " log-messages dropped (logging-buffer full)");
+		}
+
+		if(batch.length() > 0) {
+			Logging.print(batch);
+			System.out.flush();
+		}
+		return count;
+	}
+
+	/**
+	 * write every claimed slot (producers may still be publishing into them)
+	 */
+	private void drainAll() {
+		while(this.written() < this.head.get()) {
+			if(this.drain() == 0) {
+				Thread.yield();
+			}
+		}
+	}
+
+	private boolean isEmpty() {
+		int slot = (int) this.tail & this.mask;
+		return this.sequences.get(slot) != this.tail + 1;
+	}
+
+	/*
+	 * flush & shutdown
+	 */
+
+	/**
+	 * wait until every event published before is written
+	 */
+	@Override
+	public void flush() {
+		long position = this.head.get();
+		while(this.running && this.written() < position) {
+			this.wakeUp();
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+		}
+	}
+
+	private synchronized long written() {
+		return this.tail;
+	}
+
+	/**
+	 * stop consumer and write every pending event, further messages are written synchronously
+	 */
+	@Override
+	public void close() {
+		if(!this.running) {
+			return;
+		}
+		this.running = false;
+		LockSupport.unpark(this.consumer);
+		try {
+			this.consumer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		this.drainAll();
+
+		if(Thread.currentThread() != this.shutdownHook) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+			} catch (IllegalStateException e) {
+				// shutdown in progress
+			}
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+package de.curoerp.core.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Log-line formatter: "yyyy-MM-dd HH:mm:ss [LEVEL]: message", one line per line of message
+ *
+ * encodes directly into a reusable byte-buffer, no garbage in steady state:
+ * timestamp-prefix cached per second, level-prefixes precomputed, ascii encoded without encoder.
+ * Not thread-safe, one formatter per thread (synchronous) or consumer (asynchronous).
+ */
+final class LogFormatter {
+
+	private final static DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+	private final static Charset CHARSET = Charset.defaultCharset();
+	private final static boolean ASCII_COMPATIBLE = Arrays.equals(" :[]-0123456789AZaz\n".getBytes(CHARSET), " :[]-0123456789AZaz\n".getBytes(Charset.forName("US-ASCII")));
+
+	// " [INFO]: " right-aligned like the longest level
+	private final static byte[][] LEVELS = new byte[LoggingLevel.values().length][];
+	static {
+		int width = Arrays.stream(LoggingLevel.values()).mapToInt(l -> l.toString().length()).max().getAsInt() + 2;
+		for (LoggingLevel level : LoggingLevel.values()) {
+			StringBuilder prefix = new StringBuilder(" ");
+			for (int i = level.toString().length() + 2; i < width; i++) {
+				prefix.append(' ');
+			}
+			LEVELS[level.ordinal()] = prefix.append('[').append(level).append("]: ").toString().getBytes(CHARSET);
+		}
+	}
+	private final static byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(CHARSET);
+
+	private final static int INITIAL_CAPACITY = 8192;
+	private final static int MAX_RETAINED_CAPACITY = 1 << 20;
+
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+	private ByteBuffer bytes = ByteBuffer.wrap(this.buffer);
+	private int length = 0;
+
+	// timestamp of current second
+	private long second = Long.MIN_VALUE;
+	private byte[] timestamp;
+
+	// non-ascii characters
+	private final CharsetEncoder encoder = CHARSET.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	private CharBuffer chars = CharBuffer.allocate(256);
+
+	/**
+	 * append message (like split("\n"): trailing line-breaks are ignored)
+	 *
+	 * @param level {@link LoggingLevel}
+	 * @param time {@link Long} milliseconds (epoch)
+	 * @param msg {@link String}
+	 */
+	void format(LoggingLevel level, long time, String msg) {
+		long second = Math.floorDiv(time, 1000L);
+		if(second != this.second) {
+			this.second = second;
+			this.timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()).format(TIMESTAMP).getBytes(CHARSET);
+		}
+
+		int end = msg.length();
+		while(end > 0 && msg.charAt(end - 1) == '\n') {
+			end--;
+		}
+
+		int start = 0;
+		do {
+			int lineEnd = msg.indexOf('\n', start);
+			if(lineEnd < 0 || lineEnd > end) {
+				lineEnd = end;
+			}
+
+			this.append(this.timestamp);
+			this.append(LEVELS[level.ordinal()]);
+			this.append(msg, start, lineEnd);
+			this.append(LINE_SEPARATOR);
+
+			start = lineEnd + 1;
+		} while(start < end);
+	}
+
+	/**
+	 * formatted bytes (since last write)
+	 *
+	 * @return {@link Integer}
+	 */
+	int length() {
+		return this.length;
+	}
+
+	/**
+	 * write and reset buffer
+	 *
+	 * @param out {@link OutputStream}
+	 * @throws IOException
+	 */
+	void writeTo(OutputStream out) throws IOException {
+		try {
+			out.write(this.buffer, 0, this.length);
+		} finally {
+			this.length = 0;
+			if(this.buffer.length > MAX_RETAINED_CAPACITY) {
+				this.buffer = new byte[INITIAL_CAPACITY];
+				this.bytes = ByteBuffer.wrap(this.buffer);
+			}
+		}
+	}
+
+	private void append(byte[] value) {
+		this.ensure(value.length);
+		System.arraycopy(value, 0, this.buffer, this.length, value.length);
+		this.length += value.length;
+	}
+
+	private void append(String value, int from, int to) {
+		int i = from;
+		while(i < to) {
+			// ascii: 1 char => 1 byte
+			if(ASCII_COMPATIBLE) {
+				this.ensure(to - i);
+				char c;
+				while(i < to && (c = value.charAt(i)) < 0x80) {
+					this.buffer[this.length++] = (byte) c;
+					i++;
+				}
+			}
+
+			// everything else: encoder (run of non-ascii characters)
+			int run = i;
+			while(run < to && (!ASCII_COMPATIBLE || value.charAt(run) >= 0x80)) {
+				run++;
+			}
+			if(run > i) {
+				this.encode(value, i, run);
+				i = run;
+			}
+		}
+	}
+
+	private void encode(String value, int from, int to) {
+		if(this.chars.capacity() < to - from) {
+			this.chars = CharBuffer.allocate(Integer.highestOneBit(to - from) << 1);
+		}
+		// (Buffer): java 8 compatible
+		((Buffer) this.chars).clear();
+		for (int i = from; i < to; i++) {
+			this.chars.put(value.charAt(i));
+		}
+		((Buffer) this.chars).flip();
+
+		this.encoder.reset();
+		CoderResult result;
+		do {
+			this.ensure((int) Math.ceil(this.chars.remaining() * this.encoder.maxBytesPerChar()) + 1);
+			((Buffer) this.bytes).limit(this.buffer.length).position(this.length);
+			result = this.encoder.encode(this.chars, this.bytes, true);
+			this.length = this.bytes.position();
+		} while(result.isOverflow());
+
+		do {
+			this.ensure(16);
+			((Buffer) this.bytes).limit(this.buffer.length).position(this.length);
+			result = this.encoder.flush(this.bytes);
+			this.length = this.bytes.position();
+		} while(result.isOverflow());
+	}
+
+	private void ensure(int additional) {
+		if(this.length + additional <= this.buffer.length) {
+			return;
+		}
+		this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.length + additional));
+		this.bytes = ByteBuffer.wrap(this.buffer);
+	}
+
+}
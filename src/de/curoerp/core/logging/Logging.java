@@ -1,37 +1,71 @@
 package de.curoerp.core.logging;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.io.IOException;
 
 public class Logging {
 
-	private int loggingLevelIndex;
+	// ordinal of the finest level logged
+	private volatile int loggingLevelIndex;
+
+	// synchronous: one formatter per thread
+	private final ThreadLocal<LogFormatter> formatters = ThreadLocal.withInitial(LogFormatter::new);
 
 	public Logging(LoggingLevel level) {
 		this.setLoggingLevel(level);
 	}
 	
 	public void setLoggingLevel(LoggingLevel level) {
-		this.loggingLevelIndex = Arrays.asList(LoggingLevel.values()).indexOf(level);
+		this.loggingLevelIndex = level.ordinal();
+	}
+
+	/**
+	 * level logged? (constant time, check before building expensive messages)
+	 * 
+	 * @param level {@link LoggingLevel}
+	 * @return {@link Boolean}
+	 */
+	public boolean isEnabled(LoggingLevel level) {
+		return level.ordinal() <= this.loggingLevelIndex;
 	}
-	
-	private final int MAX_LEVEL_LENGTH = Arrays.stream(LoggingLevel.values()).map(l -> l.toString().length()).max((o1, o2) -> o1 - o2).get();
 
 	public void log(LoggingLevel level, String msg) {
-		if(Arrays.asList(LoggingLevel.values()).indexOf(level) > this.loggingLevelIndex) {
+		if(level.ordinal() > this.loggingLevelIndex) {
 			//not for logging!
 			return;
 		}
 
-		String[] msgs = msg.split("\n");
+		this.write(level, System.currentTimeMillis(), msg);
+	}
 
-		LocalDateTime currentTime = LocalDateTime.now();
-		
-		for (String string : msgs) {
-			System.out.println(currentTime.format(DateTimeFormatter.ofPattern("YYYY-MM-dd HH:mm:ss")) + " " + 
-					String.format("%1$" + (MAX_LEVEL_LENGTH + 2) + "s", "[" + level.toString() + "]" ) + ": " +
-					string);
+	/**
+	 * write message (level already checked), synchronous on the caller's thread
+	 * 
+	 * @param level {@link LoggingLevel}
+	 * @param time {@link Long} milliseconds (epoch)
+	 * @param msg {@link String}
+	 */
+	protected void write(LoggingLevel level, long time, String msg) {
+		LogFormatter formatter = this.formatters.get();
+		formatter.format(level, time, msg);
+		Logging.print(formatter);
+	}
+
+	/**
+	 * write formatted lines to stdout (one write => lines of one message aren't interleaved)
+	 * 
+	 * @param formatter {@link LogFormatter}
+	 */
+	static void print(LogFormatter formatter) {
+		try {
+			formatter.writeTo(System.out);
+		} catch (IOException e) {
+			// PrintStream never throws
 		}
 	}
+
+	/**
+	 * write every pending message (asynchronous logging), no-op for synchronous logging
+	 */
+	public void flush() {
+	}
 }
@@ -0,0 +1,19 @@
+package de.curoerp.core.logging;
+
+/**
+ * Behaviour of asynchronous logging (see {@link AsyncLogging}) if the ring-buffer is full
+ */
+public enum LoggingBackpressure {
+	/**
+	 * caller waits for a free slot, nothing is lost
+	 */
+	BLOCK,
+	/**
+	 * message is dropped (counted and reported)
+	 */
+	DROP,
+	/**
+	 * ERROR and WARN wait, of every other level only every n-th message waits, the rest is dropped
+	 */
+	SAMPLE;
+}
@@ -1,5 +1,7 @@
 package de.curoerp.core.logging;
 
+import java.util.function.Supplier;
+
 public class LoggingService {
 	
 	public static Logging DefaultLogging;
@@ -40,10 +42,122 @@ public class LoggingService {
 	}
 
 	public static void breaker(String title) {
-		LoggingService.info("########## " + title.trim().toUpperCase() + " ##########");
+		if(LoggingService.isEnabled(LoggingLevel.INFO)) {
+			LoggingService.info("########## " + title.trim().toUpperCase() + " ##########");
+		}
+	}
+
+	/*
+	 * Lazy logging => message only built if level is logged
+	 */
+	public static void error(Supplier<String> log) {
+		LoggingService.log(LoggingLevel.ERROR, log);
+	}
+
+	public static void warn(Supplier<String> log) {
+		LoggingService.log(LoggingLevel.WARN, log);
+	}
+
+	public static void info(Supplier<String> log) {
+		LoggingService.log(LoggingLevel.INFO, log);
+	}
+
+	public static void debug(Supplier<String> log) {
+		LoggingService.log(LoggingLevel.DEBUG, log);
+	}
+
+	/*
+	 * Parameterized logging => every {} replaced by the next argument (String.valueOf), only if level is logged
+	 */
+	public static void error(String pattern, Object arg) {
+		LoggingService.log(LoggingLevel.ERROR, pattern, arg, null, null, 1);
+	}
+
+	public static void error(String pattern, Object arg1, Object arg2) {
+		LoggingService.log(LoggingLevel.ERROR, pattern, arg1, arg2, null, 2);
+	}
+
+	public static void error(String pattern, Object... args) {
+		LoggingService.log(LoggingLevel.ERROR, pattern, null, null, args, args.length);
+	}
+
+	public static void warn(String pattern, Object arg) {
+		LoggingService.log(LoggingLevel.WARN, pattern, arg, null, null, 1);
+	}
+
+	public static void warn(String pattern, Object arg1, Object arg2) {
+		LoggingService.log(LoggingLevel.WARN, pattern, arg1, arg2, null, 2);
+	}
+
+	public static void warn(String pattern, Object... args) {
+		LoggingService.log(LoggingLevel.WARN, pattern, null, null, args, args.length);
+	}
+
+	public static void info(String pattern, Object arg) {
+		LoggingService.log(LoggingLevel.INFO, pattern, arg, null, null, 1);
+	}
+
+	public static void info(String pattern, Object arg1, Object arg2) {
+		LoggingService.log(LoggingLevel.INFO, pattern, arg1, arg2, null, 2);
+	}
+
+	public static void info(String pattern, Object... args) {
+		LoggingService.log(LoggingLevel.INFO, pattern, null, null, args, args.length);
+	}
+
+	public static void debug(String pattern, Object arg) {
+		LoggingService.log(LoggingLevel.DEBUG, pattern, arg, null, null, 1);
+	}
+
+	public static void debug(String pattern, Object arg1, Object arg2) {
+		LoggingService.log(LoggingLevel.DEBUG, pattern, arg1, arg2, null, 2);
+	}
+
+	public static void debug(String pattern, Object... args) {
+		LoggingService.log(LoggingLevel.DEBUG, pattern, null, null, args, args.length);
+	}
+
+	/**
+	 * level logged? (constant time)
+	 * 
+	 * @param level {@link LoggingLevel}
+	 * @return {@link Boolean}
+	 */
+	public static boolean isEnabled(LoggingLevel level) {
+		return DefaultLogging.isEnabled(level);
+	}
+
+	private static void log(LoggingLevel level, Supplier<String> log) {
+		if(DefaultLogging.isEnabled(level)) {
+			DefaultLogging.log(level, log.get());
+		}
+	}
+
+	private static void log(LoggingLevel level, String pattern, Object arg1, Object arg2, Object[] args, int count) {
+		if(!DefaultLogging.isEnabled(level)) {
+			return;
+		}
+
+		StringBuilder builder = new StringBuilder(pattern.length() + 16 * count);
+		int start = 0;
+		int index = 0;
+		int placeholder;
+		while(index < count && (placeholder = pattern.indexOf("{}", start)) >= 0) {
+			builder.append(pattern, start, placeholder);
+			builder.append(args != null ? args[index] : index == 0 ? arg1 : arg2);
+			start = placeholder + 2;
+			index++;
+		}
+		builder.append(pattern, start, pattern.length());
+
+		DefaultLogging.log(level, builder.toString());
 	}
 
 	private static void logException(LoggingLevel level, Exception exc) {
+		if(!DefaultLogging.isEnabled(level)) {
+			return;
+		}
+
 		DefaultLogging.log(level, exc.getClass().getName() + ": " + exc.getMessage());
 		for (StackTraceElement stack : exc.getStackTrace()) {
 			DefaultLogging.log(level, "\t" + stack.getClassName() + "." + stack.getMethodName() + "(" + stack.getFileName() + ":" + stack.getLineNumber() + ")");
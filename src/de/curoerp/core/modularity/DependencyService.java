@@ -1,21 +1,47 @@
 package de.curoerp.core.modularity;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Map.Entry;
-
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.MissingResourceException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import de.curoerp.core.exception.RuntimeTroubleException;
 import de.curoerp.core.logging.LoggingService;
+import de.curoerp.core.modularity.dependency.DependencyGraph;
+import de.curoerp.core.modularity.dependency.DependencyNode;
 import de.curoerp.core.modularity.dependency.IDependencyContainer;
+import de.curoerp.core.modularity.dependency.IModuleWiring;
+import de.curoerp.core.modularity.dependency.ParameterBinding;
+import de.curoerp.core.modularity.dependency.ParameterBinding.Kind;
+import de.curoerp.core.modularity.dependency.TypeDescriptor;
+import de.curoerp.core.modularity.dependency.TypeFactory;
+import de.curoerp.core.modularity.dependency.TypeWiring;
+import de.curoerp.core.modularity.exception.BootPlanInvalidException;
+import de.curoerp.core.modularity.exception.DependencyCycleException;
 import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
 import de.curoerp.core.modularity.exception.ModuleApiClassNotFoundException;
 import de.curoerp.core.modularity.exception.ModuleCanNotBootedException;
 import de.curoerp.core.modularity.exception.ModuleControllerClassException;
 import de.curoerp.core.modularity.exception.ModuleControllerDoesntImplementApiException;
 import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
+import de.curoerp.core.modularity.language.ILocaleService;
+import de.curoerp.core.modularity.language.LocaleService;
+import de.curoerp.core.modularity.module.IModule;
+import de.curoerp.core.modularity.module.Module;
 import de.curoerp.core.modularity.module.TypeInfo;
+import de.curoerp.core.modularity.plan.BootPlan;
+import de.curoerp.core.modularity.plan.BootPlan.PlannedType;
 
 /**
  * Dependency Resolver
@@ -27,11 +53,126 @@ import de.curoerp.core.modularity.module.TypeInfo;
 public class DependencyService implements IDependencyService {
 
 	private IDependencyContainer container;
+	private boolean parallel = false;
+	private ForkJoinPool pool = null;
+
+	// class-loader of provider => modules which got its instances (hot-deploy: resolve again)
+	private final HashMap<ClassLoader, LinkedHashSet<Module>> consumers = new HashMap<>();
 
 	public DependencyService(IDependencyContainer container) {
 		this.container = container;
 	}
 
+	/**
+	 * construct independent types parallel (fork-join pool) instead of one by one
+	 * 
+	 * @param parallel {@link Boolean}
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * one pool for every resolve (boot & hot-deploy), created on first parallel construction
+	 * 
+	 * workers are daemon threads, nothing to shut down
+	 * 
+	 * @return {@link ForkJoinPool}
+	 */
+	private synchronized ForkJoinPool getPool() {
+		if(this.pool == null) {
+			this.pool = new ForkJoinPool(java.lang.Runtime.getRuntime().availableProcessors());
+		}
+		return this.pool;
+	}
+
+	/**
+	 * This function resolve every type of every module in one dependency graph
+	 * 
+	 * @param modules Module[]
+	 * 
+	 * @throws ModuleDependencyUnresolvableException => one or more dependencies are unresolved
+	 * @throws ModuleControllerClassException => the type-class isn't correct (0 or 1 constructor / not found)
+	 * @throws ModuleApiClassNotFoundException =>  the api-interface isn't corrent
+	 * @throws ModuleControllerDoesntImplementApiException => type-class doesn't implement api-interface!
+	 * @throws ModuleCanNotBootedException => Error while construction, something went horrible wrong, Fuck! -> Cancel&check System!!!
+	 * @throws DependencyCycleException => types depend on each other, never resolvable
+	 * @throws DependencyNotResolvedException 
+	 */
+	public List<DependencyNode> resolveModules(Module[] modules) throws ModuleDependencyUnresolvableException, ModuleControllerClassException, ModuleControllerDoesntImplementApiException, ModuleApiClassNotFoundException, ModuleCanNotBootedException, DependencyCycleException, DependencyNotResolvedException {
+		DependencyGraph graph = new DependencyGraph();
+
+		LoggingService.info("resolve modules");
+
+		for (Module module : modules) {
+			LoggingService.breaker("check " + module.getDisplayName());
+			this.buildNodes(graph, module, module.getTypes(), this.buildSpecialDependencyMap(module));
+		}
+
+		return this.resolveGraph(graph);
+	}
+
+	/**
+	 * This function replays a boot-plan: types are instantiated in planned order,
+	 * without discovery, validation or linking
+	 * 
+	 * @param modules Module[]
+	 * @param plan {@link BootPlan} (matching module- and library-jars)
+	 * 
+	 * @throws BootPlanInvalidException => plan doesn't fit, nothing instantiated
+	 * @throws ModuleDependencyUnresolvableException => dependency unresolved while construction
+	 * @throws ModuleCanNotBootedException => Error while construction
+	 * @throws DependencyNotResolvedException
+	 */
+	public void replayModules(Module[] modules, BootPlan plan) throws BootPlanInvalidException, ModuleDependencyUnresolvableException, ModuleCanNotBootedException, DependencyNotResolvedException {
+		HashMap<String, Module> named = new HashMap<>();
+		for (Module module : modules) {
+			named.put(module.getSystemName(), module);
+		}
+
+		if(named.size() != plan.getModules().length || !Arrays.stream(plan.getModules()).allMatch(named::containsKey)) {
+			throw new BootPlanInvalidException("modules changed");
+		}
+
+		LoggingService.info("replay boot-plan");
+
+		HashMap<Module, HashMap<DependencyType, Object>> sessions = new HashMap<>();
+		DependencyGraph graph = new DependencyGraph();
+		ArrayList<DependencyNode> order = new ArrayList<>(plan.getTypes().length);
+
+		try {
+			for (PlannedType planned : plan.getTypes()) {
+				Module module = named.get(planned.module);
+				if(module == null) {
+					throw new BootPlanInvalidException("unknown module '" + planned.module + "'");
+				}
+
+				ClassLoader loader = module.getClassLoader();
+				Class<?> type = Class.forName(planned.type, true, loader);
+				Class<?>[] parameters = new Class<?>[planned.parameters.length];
+				for (int i = 0; i < parameters.length; i++) {
+					parameters[i] = Class.forName(planned.parameters[i], false, loader);
+				}
+
+				DependencyNode node = new DependencyNode(module, this.findTypeInfo(module, planned.type, planned.api), 
+						this.compile(module, type, parameters), planned.api.isEmpty() ? null : Class.forName(planned.api, true, loader), 
+						sessions.computeIfAbsent(module, this::buildSpecialDependencyMap));
+				graph.add(node);
+
+				for (int dependency : planned.dependencies) {
+					node.dependOn(order.get(dependency));
+				}
+				order.add(node);
+			}
+		} catch (ClassNotFoundException | ModuleControllerClassException | ModuleApiClassNotFoundException | IndexOutOfBoundsException e) {
+			throw new BootPlanInvalidException(e.getClass().getName() + ": " + e.getMessage());
+		}
+
+		LoggingService.info("boot-plan valid");
+		this.instantiateAll(order);
+		this.track(graph);
+	}
+
 	/**
 	 * This function resolve every TypeInfo
 	 * 
@@ -42,70 +183,482 @@ public class DependencyService implements IDependencyService {
 	 * @throws ModuleApiClassNotFoundException =>  the api-interface isn't corrent
 	 * @throws ModuleControllerDoesntImplementApiException => type-class doesn't implement api-interface!
 	 * @throws ModuleCanNotBootedException => Error while construction, something went horrible wrong, Fuck! -> Cancel&check System!!!
+	 * @throws DependencyCycleException => types depend on each other, never resolvable
 	 * @throws DependencyNotResolvedException 
 	 */
-	public void resolveTypes(TypeInfo[] typeInfos) throws ModuleDependencyUnresolvableException, ModuleControllerClassException, ModuleControllerDoesntImplementApiException, ModuleApiClassNotFoundException, ModuleCanNotBootedException, DependencyNotResolvedException {
-
-		HashMap<String, Class<?>> queue = new HashMap<>();
+	public void resolveTypes(TypeInfo[] typeInfos) throws ModuleDependencyUnresolvableException, ModuleControllerClassException, ModuleControllerDoesntImplementApiException, ModuleApiClassNotFoundException, ModuleCanNotBootedException, DependencyCycleException, DependencyNotResolvedException {
+		DependencyGraph graph = new DependencyGraph();
 
 		LoggingService.info("resolve types");
 
-		LoggingService.info("dry-run");
-		// check types
+		this.buildNodes(graph, null, typeInfos, null);
+		this.resolveGraph(graph);
+	}
+
+	/**
+	 * every type looked up by the constructors of a heaped module (activation pruning: api providers)
+	 * 
+	 * types which can't be loaded are ignored, they are reported while resolving
+	 * 
+	 * @param module {@link Module} heaped
+	 * @return {@link Set} of full qualified class names
+	 */
+	public Set<String> findParameterTypes(Module module) {
+		HashSet<String> types = new HashSet<>();
+
+		// generated at build-time?
+		if(module.getWiring() != null) {
+			for (TypeWiring type : module.getWiring().getTypes()) {
+				for (int i = 0; i < type.parameters.length; i++) {
+					Class<?> element = type.elements != null ? type.elements[i] : null;
+					types.add((element != null ? element : type.parameters[i]).getName());
+				}
+			}
+			return types;
+		}
+
+		for (TypeInfo type : module.getTypes()) {
+			try {
+				Class<?> typeClass = Class.forName(type.type.trim(), false, module.getClassLoader());
+				for (ParameterBinding binding : this.compile(typeClass).getBindings()) {
+					types.add(binding.getElement().getName());
+				}
+			} catch (ClassNotFoundException | ModuleControllerClassException | LinkageError e) {
+				// reported while resolving
+			}
+		}
+
+		return types;
+	}
+
+	/**
+	 * find, check & add every type as node
+	 */
+	private void buildNodes(DependencyGraph graph, Module module, TypeInfo[] typeInfos, HashMap<DependencyType, Object> session) throws ModuleControllerClassException, ModuleControllerDoesntImplementApiException, ModuleApiClassNotFoundException {
+		// generated at build-time?
+		if(module != null && module.getWiring() != null) {
+			this.buildWiredNodes(graph, module, module.getWiring(), session);
+			return;
+		}
+
 		for (TypeInfo type : typeInfos) {
 			// find type
-			Class<?> typeClass = this.resolveType(type.type);
-			LoggingService.info("Class '" + type.type + "' found");
+			Class<?> typeClass = this.resolveType(type.type, module != null ? module.getClassLoader() : DependencyService.class.getClassLoader());
+			LoggingService.info("Class '{}' found", type.type);
+
+			// check api
+			Class<?> apiClass = this.checkApi(type.api, typeClass);
+			LoggingService.info("# API '{}' found/ignored", type.api);
+
+			// put type in graph
+			TypeFactory factory = this.compile(typeClass);
+			LoggingService.info(() -> "# dependencies found: " + String.join(", ", Arrays.stream(factory.getParameters()).map(d -> d.getSimpleName()).toArray(c -> new String[c])));
+
+			graph.add(new DependencyNode(module, type, factory, apiClass, session));
+		}
+	}
 
-			// check type
-			this.checkResolvement(typeClass, type.api, Arrays.stream(typeInfos).filter(type_ -> type_ != type).toArray(c -> new TypeInfo[c]));
-			LoggingService.info("# validated");
+	/**
+	 * add every type of generated wiring as node, without reflective discovery
+	 */
+	private void buildWiredNodes(DependencyGraph graph, Module module, IModuleWiring wiring, HashMap<DependencyType, Object> session) throws ModuleApiClassNotFoundException {
+		LoggingService.info("# generated wiring, skip discovery");
 
-			// put type in resolvable Map
-			queue.put(typeClass.getName(), typeClass);
-			LoggingService.info("# putted");
+		for (TypeWiring type : wiring.getTypes()) {
+			if(type.api != null) {
+				this.checkApiUnused(type.api);
+			}
+
+			TypeInfo info = this.findTypeInfo(module, type.type.getName(), type.api != null ? type.api.getName() : "");
+			graph.add(new DependencyNode(module, info, TypeFactory.of(type), type.api, session));
+		}
+	}
+
+	/**
+	 * find TypeInfo of module (cmod.yml), new one if type isn't declared
+	 */
+	private TypeInfo findTypeInfo(Module module, String type, String api) {
+		if(module.getTypes() != null) {
+			for (TypeInfo info : module.getTypes()) {
+				if(type.equals(info.type.trim())) {
+					return info;
+				}
+			}
 		}
+		return new TypeInfo(type, api);
+	}
+
+	/**
+	 * link, sort & instantiate graph
+	 */
+	private List<DependencyNode> resolveGraph(DependencyGraph graph) throws ModuleDependencyUnresolvableException, ModuleCanNotBootedException, DependencyCycleException, DependencyNotResolvedException {
+		LoggingService.info("dry-run");
+		this.link(graph);
+		List<DependencyNode> order = graph.sort();
 		LoggingService.info("dry-run successful");
 
 		// ### Now we can say that there is no lack of dependence anymore. 
 
-		LoggingService.info("final run");
-		// Create Types and resolve dependencies finally - try-try-try... => never cancel!
-		while(queue.size() > 0) {
+		this.instantiateAll(order);
+		this.track(graph);
+
+		return order;
+	}
+
+	/*
+	 * Graph
+	 */
 
-			// Copy HashMap for Modifications (possible at types without api)
-			ArrayList<Entry<String, Class<?>>> entries = new ArrayList<>(queue.entrySet());
+	/**
+	 * link every node to its providers
+	 * 
+	 * @param graph {@link DependencyGraph}
+	 * 
+	 * @throws ModuleDependencyUnresolvableException => one or more dependencies are unresolved
+	 */
+	private void link(DependencyGraph graph) throws ModuleDependencyUnresolvableException {
+		ArrayList<String> unresolved = new ArrayList<>();
 
-			for (Entry<String, Class<?>> entry : entries) {
-				Object obj = createInstance(entry.getValue());
+		for (DependencyNode node : graph.getNodes()) {
+			for (ParameterBinding binding : node.getBindings()) {
+				if(!this.link(graph, node, binding)) {
+					unresolved.add(this.describeUnresolved(binding.getElement()) + " (" + node + ")");
+				}
+			}
+		}
+
+		LoggingService.info(() -> "# unresolved dependencies: " + String.join(", ", unresolved));
+
+		if(unresolved.size() > 0) {
+			throw new ModuleDependencyUnresolvableException(String.join(", ", unresolved));
+		}
+	}
+
+	/**
+	 * link node to providers of parameter
+	 * 
+	 * @return {@link Boolean} parameter resolvable
+	 */
+	private boolean link(DependencyGraph graph, DependencyNode node, ParameterBinding binding) {
+		switch (binding.getKind()) {
+		// provider: resolved on demand => must be resolvable, but no order
+		case SUPPLIER:
+			return this.link(graph, node, binding.getElement(), false);
+
+		// collection: every provider first, may be empty
+		case LIST:
+			for (DependencyNode provider : graph.findProviders(binding.getElement())) {
+				if(provider != node) {
+					node.dependOn(provider);
+				}
+			}
+			return true;
+
+		default:
+			return this.link(graph, node, binding.getType(), true);
+		}
+	}
+
+	/**
+	 * link node to providers of single instance
+	 * 
+	 * @param ordered {@link Boolean} false => only check, node may be constructed before its providers
+	 * @return {@link Boolean} type resolvable
+	 */
+	private boolean link(DependencyGraph graph, DependencyNode node, Class<?> parameter, boolean ordered) {
+		// special: container
+		if(parameter == IDependencyContainer.class) {
+			return true;
+		}
+
+		// special: annotations
+		TypeDescriptor descriptor = TypeDescriptor.of(parameter);
+		if(descriptor.isNoDependency() || descriptor.isMultiDependency()) {
+			return false;
+		}
+
+		if(descriptor.getSpecial() != null && node.getSession() != null && node.getSession().containsKey(descriptor.getSpecial())) {
+			return true;
+		}
+
+		// internal resolvement
+		List<DependencyNode> providers = graph.findProviders(parameter);
+		if(providers.size() > 0) {
+			if(ordered) {
+				for (DependencyNode provider : providers) {
+					node.dependOn(provider);
+				}
+			}
+			return true;
+		}
+
+		// external resolvement (lazy types are not activated)
+		return this.container.countInstancesOf(parameter) == 1;
+	}
+
+	/**
+	 * remember every module which got instances of another module: graph providers (ordered or not)
+	 * and instances of the container (resolved before, lazy types are not activated)
+	 * 
+	 * @param graph {@link DependencyGraph} resolved
+	 */
+	private synchronized void track(DependencyGraph graph) {
+		for (DependencyNode node : graph.getNodes()) {
+			if(node.getModule() == null) {
+				continue;
+			}
 
-				if(obj == null) {
+			for (ParameterBinding binding : node.getBindings()) {
+				Class<?> parameter = binding.getElement();
+				TypeDescriptor descriptor = TypeDescriptor.of(parameter);
+				if(parameter == IDependencyContainer.class || descriptor.isNoDependency() 
+						|| (descriptor.getSpecial() != null && node.getSession() != null && node.getSession().containsKey(descriptor.getSpecial()))) {
 					continue;
 				}
 
-				// Nullpointer is no option, it's an other problem!
-				this.container.addResolvedDependency(entry.getValue(), obj);
-				queue.remove(entry.getKey());
+				List<DependencyNode> providers = graph.findProviders(parameter);
+				if(providers.size() > 0) {
+					for (DependencyNode provider : providers) {
+						this.track(node.getModule(), provider.getType());
+					}
+				} else {
+					List<Class<?>> types = this.container.findTypesOf(parameter);
+					if(binding.getKind() == Kind.LIST || types.size() == 1) {
+						for (Class<?> type : types) {
+							this.track(node.getModule(), type);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void track(Module consumer, Class<?> provider) {
+		ClassLoader loader = provider.getClassLoader();
+		if(loader != null && loader != consumer.getClassLoader()) {
+			this.consumers.computeIfAbsent(loader, l -> new LinkedHashSet<>()).add(consumer);
+		}
+	}
+
+	/**
+	 * every module which got instances of module while resolving (api, Supplier, List), cmod.yml is not checked
+	 * 
+	 * @param module {@link Module} heaped
+	 * @return {@link Set} of {@link Module}
+	 */
+	public synchronized Set<Module> findConsumers(Module module) {
+		Set<Module> consumers = this.consumers.get(module.getClassLoader());
+		return consumers == null ? Collections.emptySet() : new LinkedHashSet<>(consumers);
+	}
+
+	/**
+	 * forget module as provider and consumer (before unload)
+	 * 
+	 * @param module {@link Module} heaped
+	 */
+	public synchronized void removeModule(Module module) {
+		this.consumers.remove(module.getClassLoader());
+		this.consumers.values().forEach(consumers -> consumers.remove(module));
+		this.consumers.values().removeIf(Set::isEmpty);
+	}
+
+	/**
+	 * name of unresolved type, with reason if the container knows more than 1 dependency
+	 */
+	private String describeUnresolved(Class<?> type) {
+		if(!TypeDescriptor.of(type).isMultiDependency() && this.container.countInstancesOf(type) > 1) {
+			return type.getName() + " (" + IDependencyContainer.AMBIGUOUS + ")";
+		}
+		return type.getName();
+	}
+
+	private void instantiateAll(List<DependencyNode> order) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException, DependencyNotResolvedException {
+		LoggingService.info("final run" + (this.parallel ? " (parallel)" : ""));
+		if(this.parallel) {
+			this.instantiateParallel(order);
+		} else {
+			this.instantiate(order);
+		}
+	}
+
+	/**
+	 * create instances in topological order, session dependencies of the module are set in the container
+	 * (constructors looking up IModule/ILocaleService by the container)
+	 * 
+	 * @param order {@link List} of {@link DependencyNode}
+	 */
+	private void instantiate(List<DependencyNode> order) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException, DependencyNotResolvedException {
+		HashMap<DependencyType, Object> session = null;
+
+		try {
+			for (DependencyNode node : order) {
+				// switch session dependencies on module change
+				if(node.getSession() != null && node.getSession() != session) {
+					session = node.getSession();
+					this.container.setSessionDependencies(session);
+				}
+
+				this.instantiate(node);
 			}
+		} finally {
+			if(session != null) {
+				this.container.cleanSessionDependencies();
+			}
+		}
+	}
+
+	private void instantiate(DependencyNode node) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException, DependencyNotResolvedException {
+		// lazy: register recipe only
+		if(node.isLazy()) {
+			this.container.addLazyDependency(node.getType(), node.getFactory(), node.getSession());
+			LoggingService.info("# '{}' registered (lazy)", node);
+			return;
+		}
+
+		Object obj = this.construct(node);
+
+		// Nullpointer is no option, it's an other problem!
+		this.container.addResolvedDependency(node.getType(), obj);
+		LoggingService.info("# '{}' resolved", node);
+	}
+
+	/**
+	 * construct node, context class-loader is the module class-loader (as on the boot thread)
+	 */
+	private Object construct(DependencyNode node) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException {
+		if(node.getModule() == null) {
+			return node.getFactory().newInstance(this.container, node.getSession());
+		}
+
+		Thread thread = Thread.currentThread();
+		ClassLoader context = thread.getContextClassLoader();
+		thread.setContextClassLoader(node.getModule().getClassLoader());
+		try {
+			return node.getFactory().newInstance(this.container, node.getSession());
+		} finally {
+			thread.setContextClassLoader(context);
+		}
+	}
 
+	/**
+	 * create instances parallel: every node is submitted as soon as all of its dependencies are constructed
+	 * 
+	 * finished after every submitted task: on failure no task registers an instance after return
+	 * (hot-deploy unloads the modules afterwards)
+	 * 
+	 * @param order {@link List} of {@link DependencyNode}, topological sorted (=> no cycles)
+	 */
+	private void instantiateParallel(List<DependencyNode> order) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException, DependencyNotResolvedException {
+		if(order.isEmpty()) {
+			return;
 		}
 
+		AtomicIntegerArray pending = new AtomicIntegerArray(order.size());
+		// submitted, not finished tasks (+1 while submitting)
+		AtomicInteger running = new AtomicInteger(1);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CompletableFuture<Void> done = new CompletableFuture<>();
+		ForkJoinPool pool = this.getPool();
+
+		try {
+			for (DependencyNode node : order) {
+				pending.set(node.getIndex(), node.getDependencyCount());
+			}
+
+			for (DependencyNode node : order) {
+				if(node.getDependencyCount() == 0) {
+					running.incrementAndGet();
+					pool.execute(() -> this.instantiateParallel(node, pool, pending, running, failure, done));
+				}
+			}
+			this.finish(running, failure, done);
+
+			done.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof ModuleCanNotBootedException) {
+				throw (ModuleCanNotBootedException) cause;
+			}
+			if(cause instanceof ModuleDependencyUnresolvableException) {
+				throw (ModuleDependencyUnresolvableException) cause;
+			}
+			if(cause instanceof DependencyNotResolvedException) {
+				throw (DependencyNotResolvedException) cause;
+			}
+			throw new RuntimeTroubleException(cause instanceof Exception ? (Exception) cause : e);
+		}
 	}
-	
+
+	private void instantiateParallel(DependencyNode node, ForkJoinPool pool, AtomicIntegerArray pending, AtomicInteger running, AtomicReference<Throwable> failure, CompletableFuture<Void> done) {
+		try {
+			if(failure.get() != null) {
+				// canceled by failure
+				return;
+			}
+
+			try {
+				this.instantiate(node);
+			} catch (Throwable e) {
+				failure.compareAndSet(null, e);
+				return;
+			}
+
+			for (DependencyNode dependent : node.getDependents()) {
+				if(pending.decrementAndGet(dependent.getIndex()) == 0) {
+					running.incrementAndGet();
+					pool.execute(() -> this.instantiateParallel(dependent, pool, pending, running, failure, done));
+				}
+			}
+		} finally {
+			this.finish(running, failure, done);
+		}
+	}
+
+	/**
+	 * task finished, last one completes the construction (every node constructed or first failure)
+	 */
+	private void finish(AtomicInteger running, AtomicReference<Throwable> failure, CompletableFuture<Void> done) {
+		if(running.decrementAndGet() == 0) {
+			Throwable e = failure.get();
+			if(e != null) {
+				done.completeExceptionally(e);
+			} else {
+				done.complete(null);
+			}
+		}
+	}
+
+	/**
+	 * build session dependencies of module
+	 * 
+	 * @param currentModule {@link Module}
+	 * @return {@link HashMap}
+	 */
+	private HashMap<DependencyType, Object> buildSpecialDependencyMap(Module currentModule) {
+		HashMap<DependencyType, Object> map = new HashMap<>();
+
+		// map builder
+		map.put(DependencyType.CurrentModule, (IModule)currentModule);
+
+		try {
+			map.put(DependencyType.LocaleService, (ILocaleService) new LocaleService(currentModule));
+		} catch(MissingResourceException e) {
+			LoggingService.warn(e);
+		}
+
+		return map;
+	}
+
 	public void resolveTypes(Class<?> type, Class<?> api) 
 			throws DependencyNotResolvedException, ModuleCanNotBootedException, 
 			ModuleDependencyUnresolvableException, ModuleControllerClassException, 
 			ModuleControllerDoesntImplementApiException, ModuleApiClassNotFoundException {
 		// check type
-		this.checkResolvement(type, api != null ? api.getName() : "", new TypeInfo[] {});
+		this.checkResolvement(type, api != null ? api.getName() : "");
 		LoggingService.info("# validated");
 
 		Object obj = createInstance(type);
 
-		if(obj == null) {
-			return;
-		}
-
 		// Nullpointer is no option, it's an other problem!
 		this.container.addResolvedDependency(obj.getClass(), obj);
 	}
@@ -114,57 +667,50 @@ public class DependencyService implements IDependencyService {
 	 * Instantiation
 	 */
 
-	public Object createInstance(Class<?> type) throws ModuleCanNotBootedException {
-		Object obj = null;
-
+	public Object createInstance(Class<?> type) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException {
 		try {
-			switch (type.getConstructors().length) {
-			// no constructor
-			case 0:
-				obj = type.newInstance();
-				break;
-
-				// only one constructor
-			case 1:
-				Constructor<?> constructor = type.getConstructors()[0];
-
-				ArrayList<Object> params = new ArrayList<>();
-				for (Class<?> cls : constructor.getParameterTypes()) {
-					// find direct or in Superclases&Co.
-					try {
-						params.add(this.container.findSingleInstanceOf(cls));
-						continue;
-					} catch (DependencyNotResolvedException e) {
-						LoggingService.debug(e);
-					}
-
-					throw new ModuleDependencyUnresolvableException(cls.getName());
-				}
-
-				obj = constructor.newInstance(params.toArray(new Object[params.size()]));
-				break;
-			default:
-				throw new IllegalArgumentException();
-			}
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			return this.compile(type).newInstance(this.container, null);
+		} catch (ModuleControllerClassException e) {
 			LoggingService.debug(e);
 			// fatal error => exit Runtime
 			throw new ModuleCanNotBootedException(new String[] {
 					type.getName()
 			});
 		}
-		catch(ModuleDependencyUnresolvableException e) {
-			// probably internal dependencies
+	}
+
+	/**
+	 * compiled factory of type with known parameters (boot-plan), generated wiring preferred
+	 */
+	private TypeFactory compile(Module module, Class<?> type, Class<?>[] parameters) throws ModuleControllerClassException {
+		if(module.getWiring() != null) {
+			for (TypeWiring wiring : module.getWiring().getTypes()) {
+				if(wiring.type == type) {
+					return TypeFactory.of(wiring);
+				}
+			}
 		}
 
-		return obj;
+		return TypeDescriptor.of(type).getFactory(parameters);
+	}
+
+	/**
+	 * compiled factory of type, compiled only once
+	 * 
+	 * @param type Class<?>
+	 * @return {@link TypeFactory}
+	 * 
+	 * @throws ModuleControllerClassException => the type-class isn't correct (0 or 1 constructor)
+	 */
+	private TypeFactory compile(Class<?> type) throws ModuleControllerClassException {
+		return TypeDescriptor.of(type).getFactory();
 	}
 
 	/*
 	 * Check
 	 */
 
-	private void checkResolvement(Class<?> typeClass, String api, TypeInfo[] internal) throws 
+	private void checkResolvement(Class<?> typeClass, String api) throws 
 	ModuleDependencyUnresolvableException, 
 	ModuleControllerClassException, 
 	ModuleControllerDoesntImplementApiException,
@@ -172,122 +718,84 @@ public class DependencyService implements IDependencyService {
 		LoggingService.info("# check resolvements");
 		// 1st: check API class
 		this.checkApi(api, typeClass);
-		LoggingService.info("## API '" + api + "' found/ignored");
+		LoggingService.info("## API '{}' found/ignored", api);
 
 		// 2nd: check constructors (max = 1)
-		if(typeClass.getConstructors().length > 1) {
-			LoggingService.debug("contructor (" + typeClass.getName() + ") has more than 1 constructor, throw ModuleControllerClassException");
-			throw new ModuleControllerClassException(typeClass.getName());
-		}
+		TypeFactory factory = this.compile(typeClass);
 
 		// 3nd: find dependencies
-		Class<?>[] dependencies = this.findDependencies(typeClass);
-		LoggingService.info("## dependencies found: " + String.join(", ", Arrays.stream(dependencies).map(d -> d.getSimpleName()).toArray(c -> new String[c])));
+		Class<?>[] dependencies = Arrays.stream(factory.getBindings()).filter(b -> b.getKind() != Kind.LIST).map(ParameterBinding::getElement).distinct().toArray(c -> new Class<?>[c]);
+		LoggingService.info(() -> "## dependencies found: " + String.join(", ", Arrays.stream(dependencies).map(d -> d.getSimpleName()).toArray(c -> new String[c])));
 
 		// 4rd: any dependency unresolved?
-		Class<?>[] unresolved = this.findUnresolvedDependencies(dependencies, internal);
-		LoggingService.info("## unresolved dependencies: " + String.join(", ", Arrays.stream(unresolved).map(d -> d.getSimpleName()).toArray(c -> new String[c])));
+		Class<?>[] unresolved = this.findUnresolvedDependencies(dependencies);
+		LoggingService.info(() -> "## unresolved dependencies: " + String.join(", ", Arrays.stream(unresolved).map(d -> d.getSimpleName()).toArray(c -> new String[c])));
 
 
 		if(unresolved.length > 0) {
-			throw new ModuleDependencyUnresolvableException(String.join(", ", Arrays.stream(unresolved).map(c -> c.getName()).toArray(c -> new String[c])));
+			throw new ModuleDependencyUnresolvableException(String.join(", ", Arrays.stream(unresolved).map(this::describeUnresolved).toArray(c -> new String[c])));
 		}
 
 		// everything fine!
 	}
 
-	private Class<?> resolveType(String fqn) throws ModuleControllerClassException {
+	private Class<?> resolveType(String fqn, ClassLoader loader) throws ModuleControllerClassException {
 		Class<?> type = null;
 
 		// search class
 		try {
-			type = Class.forName(fqn);
+			type = Class.forName(fqn, true, loader);
 		} catch (ClassNotFoundException e) {
 			throw new ModuleControllerClassException(fqn);
 		}
 
-		// check constructor.length 1 or 0
-		if(type.getConstructors().length > 1) {
-			throw new ModuleControllerClassException(fqn);
-		}
-
 		return type;
 	}
 
-	private void checkApi(String fqn, Class<?> type) throws 
+	private Class<?> checkApi(String fqn, Class<?> type) throws 
 	ModuleControllerDoesntImplementApiException, 
-	ModuleApiClassNotFoundException, 
-	ModuleControllerClassException  {
-		if(fqn.trim().length() > 0) {
+	ModuleApiClassNotFoundException {
+		if(fqn != null && fqn.trim().length() > 0) {
 			// search api-class
 			try {
-				final Class<?> apiClass = Class.forName(fqn);
+				// api must be visible for type
+				final Class<?> apiClass = Class.forName(fqn, true, type.getClassLoader() != null ? type.getClassLoader() : DependencyService.class.getClassLoader());
 
 				// Controller really implements api?
-				if(!Arrays.asList(type.getInterfaces()).stream().anyMatch(impl -> impl.isAssignableFrom(apiClass))) {
+				if(!Arrays.stream(TypeDescriptor.of(type).getInterfaces()).anyMatch(impl -> impl.isAssignableFrom(apiClass))) {
 					throw new ModuleControllerDoesntImplementApiException();
 				}
 				
 				// api already used 
-				try {
-					if(this.container.findInstancesOf(apiClass).length > 0) {
-						LoggingService.error("api '" + apiClass.getName() + "' allready used.");
-						throw new ModuleApiClassNotFoundException();
-					}
-				} catch(DependencyNotResolvedException e1) {
-					LoggingService.debug("no instance of '" + apiClass.getName() + "' found. That's normal.");
-				}
-				
+				this.checkApiUnused(apiClass);
+
+				return apiClass;
 			} catch (ClassNotFoundException e) {
 				throw new ModuleApiClassNotFoundException();
 			}
 		}
-	}
 
-	private Class<?>[] findDependencies(Class<?> type) {
-		ArrayList<Class<?>> unresolved = new ArrayList<>();
+		return null;
+	}
 
-		// fetch dependencies
-		for (Constructor<?> constructor : type.getConstructors()) {
-			for (Class<?> parameter : constructor.getParameterTypes()) {
-				if(!unresolved.contains(parameter)) {
-					unresolved.add(parameter);
-				}
-			}
+	private void checkApiUnused(Class<?> apiClass) throws ModuleApiClassNotFoundException {
+		if(this.container.contains(apiClass)) {
+			LoggingService.error("api '" + apiClass.getName() + "' allready used.");
+			throw new ModuleApiClassNotFoundException();
 		}
-
-		return unresolved.toArray(new Class<?>[unresolved.size()]);
 	}
 
-	private Class<?>[] findUnresolvedDependencies(Class<?>[] dependencies, TypeInfo[] internal) {
+	private Class<?>[] findUnresolvedDependencies(Class<?>[] dependencies) {
 		// unresolved dependencies
 		ArrayList<Class<?>> unresolved = new ArrayList<>(Arrays.asList(dependencies));
 
-		// any dependencies?
-		if(unresolved.size() > 0) {
-			// dependencies resolved?
-
-			// check internal resolvements
-			for (TypeInfo other : internal) {
-				// any api?
-				unresolved.remove(unresolved.stream().filter(c -> c.getName().equals(other.api)).findFirst().orElse(null));
-
-				// any type?
-				unresolved.remove(unresolved.stream().filter(c -> c.getName().equals(other.type)).findFirst().orElse(null));
-			}
-
-			// check external resolvements
-			for (Class<?> dependency : unresolved.toArray(new Class<?>[unresolved.size()])) {
-				try {
-					if(this.container.findSingleInstanceOf(dependency) != null) {
-						unresolved.remove(dependency);	
-					}
-				} catch (DependencyNotResolvedException e) {
-					LoggingService.debug(e);
-				}
+		// check external resolvements
+		for (Class<?> dependency : dependencies) {
+			if(!TypeDescriptor.of(dependency).isMultiDependency() && this.container.countInstancesOf(dependency) == 1) {
+				unresolved.remove(dependency);	
 			}
-
 		}
+
 		return unresolved.toArray(new Class<?>[unresolved.size()]);
 	}
 
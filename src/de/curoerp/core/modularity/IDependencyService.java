@@ -1,18 +1,41 @@
 package de.curoerp.core.modularity;
 
+import java.util.List;
+import java.util.Set;
+
+import de.curoerp.core.modularity.dependency.DependencyNode;
+import de.curoerp.core.modularity.exception.BootPlanInvalidException;
+import de.curoerp.core.modularity.exception.DependencyCycleException;
 import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
 import de.curoerp.core.modularity.exception.ModuleApiClassNotFoundException;
 import de.curoerp.core.modularity.exception.ModuleCanNotBootedException;
 import de.curoerp.core.modularity.exception.ModuleControllerClassException;
 import de.curoerp.core.modularity.exception.ModuleControllerDoesntImplementApiException;
 import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
+import de.curoerp.core.modularity.module.Module;
 import de.curoerp.core.modularity.module.TypeInfo;
+import de.curoerp.core.modularity.plan.BootPlan;
 
 public interface IDependencyService {
-	public void resolveTypes(TypeInfo[] typeInfos) 
+	public List<DependencyNode> resolveModules(Module[] modules) 
 			throws ModuleDependencyUnresolvableException, ModuleControllerClassException, 
 			ModuleControllerDoesntImplementApiException, ModuleApiClassNotFoundException, 
+			ModuleCanNotBootedException, DependencyCycleException, DependencyNotResolvedException;
+
+	public void replayModules(Module[] modules, BootPlan plan) 
+			throws BootPlanInvalidException, ModuleDependencyUnresolvableException, 
 			ModuleCanNotBootedException, DependencyNotResolvedException;
+
+	public Set<String> findParameterTypes(Module module);
+
+	public Set<Module> findConsumers(Module module);
+
+	public void removeModule(Module module);
+
+	public void resolveTypes(TypeInfo[] typeInfos) 
+			throws ModuleDependencyUnresolvableException, ModuleControllerClassException, 
+			ModuleControllerDoesntImplementApiException, ModuleApiClassNotFoundException, 
+			ModuleCanNotBootedException, DependencyCycleException, DependencyNotResolvedException;
 	
 	public void resolveTypes(Class<?> type, Class<?> api) 
 			throws DependencyNotResolvedException, ModuleCanNotBootedException, 
@@ -2,22 +2,34 @@ package de.curoerp.core.modularity;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.MissingResourceException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 import de.curoerp.core.exception.RuntimeTroubleException;
 import de.curoerp.core.functionality.info.ICoreInfo;
 import de.curoerp.core.logging.LoggingService;
 import de.curoerp.core.modularity.dependency.DependencyInfo;
 import de.curoerp.core.modularity.dependency.DependencyLimitation;
+import de.curoerp.core.modularity.dependency.DependencyNode;
 import de.curoerp.core.modularity.dependency.IDependencyContainer;
+import de.curoerp.core.modularity.dependency.IModuleWiring;
+import de.curoerp.core.modularity.exception.BootPlanInvalidException;
+import de.curoerp.core.modularity.exception.DependencyCycleException;
 import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
+import de.curoerp.core.modularity.exception.LibraryClashException;
 import de.curoerp.core.modularity.exception.ModuleApiClassNotFoundException;
 import de.curoerp.core.modularity.exception.ModuleBasePathNotExistsException;
 import de.curoerp.core.modularity.exception.ModuleCanNotBeLoadedException;
@@ -27,12 +39,21 @@ import de.curoerp.core.modularity.exception.ModuleControllerDoesntImplementApiEx
 import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
 import de.curoerp.core.modularity.exception.ModuleFileAlreadyLoadedException;
 import de.curoerp.core.modularity.exception.ModuleServiceAllreadyBootedException;
-import de.curoerp.core.modularity.language.ILocaleService;
-import de.curoerp.core.modularity.language.LocaleService;
+import de.curoerp.core.modularity.exception.ModuleStillRequiredException;
+import de.curoerp.core.modularity.exception.ModuleVersionConflictException;
+import de.curoerp.core.modularity.library.Library;
+import de.curoerp.core.modularity.library.LibraryStore;
+import de.curoerp.core.modularity.module.ClassLoaderLeakDetector;
 import de.curoerp.core.modularity.module.IBootModule;
-import de.curoerp.core.modularity.module.IModule;
 import de.curoerp.core.modularity.module.Module;
+import de.curoerp.core.modularity.module.ModuleClassLoader;
+import de.curoerp.core.modularity.module.ModuleIndex;
+import de.curoerp.core.modularity.module.ModuleLoaderIndex;
+import de.curoerp.core.modularity.module.ModuleRegistry;
 import de.curoerp.core.modularity.module.ModuleInfo;
+import de.curoerp.core.modularity.module.TypeInfo;
+import de.curoerp.core.modularity.module.VersionSolver;
+import de.curoerp.core.modularity.plan.BootPlan;
 
 /**
  * Central Module Service for internal..
@@ -43,7 +64,7 @@ import de.curoerp.core.modularity.module.ModuleInfo;
  */
 public class ModuleService {
 
-	private Module[] modules = new Module[0];
+	private volatile ModuleRegistry registry = new ModuleRegistry(new Module[0]);
 	private IDependencyService resolver;
 	private boolean booted = false;
 	private IDependencyContainer container;
@@ -83,7 +104,7 @@ public class ModuleService {
 	 * @throws DependencyNotResolvedException
 	 */
 	public void runModule(String name) throws DependencyNotResolvedException {
-		Module module = Arrays.stream(this.modules).filter(m -> m.getSystemName().equals(name)).findFirst().orElse(null);
+		Module module = this.registry.find(name);
 
 		if(module == null) {
 			throw new RuntimeTroubleException(new Exception("Module '" + name + "' not loaded!"));
@@ -94,7 +115,7 @@ public class ModuleService {
 
 	/**
 	 * load modules in directory
-	 * NEVER AFTER BOOT!
+	 * NEVER AFTER BOOT! (see {@link #install(File)})
 	 * 
 	 * @param directory {@link File}
 	 */
@@ -107,18 +128,132 @@ public class ModuleService {
 			throw new RuntimeTroubleException(new ModuleBasePathNotExistsException());
 		}
 
+		this.registry = new ModuleRegistry(this.selectVersions(this.readModules(directory)));
+	}
+
+	/**
+	 * every module-jar in directory with module-information
+	 * 
+	 * @param directory {@link File}
+	 * @return {@link Module}[] not heaped, several versions per system-name possible
+	 * @throws RuntimeTroubleException => one or more modules can't be loaded
+	 */
+	private Module[] readModules(File directory) {
 		Module[] modules = (Module[]) Arrays.stream(directory.listFiles((d, n) -> n.endsWith(".cmod.jar")))
 				.map(file -> new Module(file)).toArray(length -> new Module[length]);
 
+		// unchanged jars: module-index, only new or changed jars are opened
+		ModuleIndex index = this.readIndex(directory);
+		Module[] changed = Arrays.stream(modules).filter(module -> !index.restore(module)).toArray(length -> new Module[length]);
+		LoggingService.info("module-index: {} unchanged, {} new or changed", modules.length - changed.length, changed.length);
+
+		this.loadInfos(changed);
+		for (Module module : changed) {
+			index.put(module);
+		}
+
+		index.retain(modules);
+		if(index.isModified()) {
+			try {
+				index.write(new File(directory, ModuleIndex.FILE_NAME));
+			} catch (IOException e) {
+				LoggingService.warn("module-index can't be written: " + e.getMessage());
+			}
+		}
+
+		return modules;
+	}
+
+	/**
+	 * select one version of every module (several module-jars with the same system-name)
+	 * 
+	 * @param modules {@link Module}[] every module-jar with module-information
+	 * @return {@link Module}[] one module per system-name
+	 * @throws RuntimeTroubleException => no consistent selection, see {@link VersionSolver}
+	 */
+	private Module[] selectVersions(Module[] modules) {
+		if(Arrays.stream(modules).map(m -> m.getSystemName()).distinct().count() == modules.length) {
+			return modules;
+		}
+
+		long start = System.nanoTime();
+		Module[] selected;
+		try {
+			selected = new VersionSolver(modules).solve();
+		} catch (ModuleVersionConflictException e) {
+			LoggingService.error("module versions not resolvable: " + e.getMessage());
+			throw new RuntimeTroubleException(e);
+		}
+
+		List<Module> selection = Arrays.asList(selected);
+		for (Module module : modules) {
+			if(!selection.contains(module)) {
+				LoggingService.info("module {} not selected ({})", module.getDisplayName(), module.getFile().getName());
+			}
+		}
+		LoggingService.info("module versions selected in {}ms", (System.nanoTime() - start) / 1000000);
+
+		return selected;
+	}
+
+	private ModuleIndex readIndex(File directory) {
+		File file = new File(directory, ModuleIndex.FILE_NAME);
+		if(!file.isFile()) {
+			return ModuleIndex.empty();
+		}
+
+		try {
+			return ModuleIndex.read(file);
+		} catch (IOException e) {
+			LoggingService.warn("module-index ignored: " + e.getMessage());
+			return ModuleIndex.empty();
+		}
+	}
+
+	/**
+	 * load module-information of every jar-file parallel (bounded pool, one jar per task)
+	 * 
+	 * @param modules Module[]
+	 * @throws RuntimeTroubleException => one or more modules can't be loaded, every error is reported
+	 */
+	private void loadInfos(Module[] modules) {
+		if(modules.length == 0) {
+			return;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(modules.length, java.lang.Runtime.getRuntime().availableProcessors()));
+		ArrayList<String> errors = new ArrayList<>();
+
 		try {
+			ArrayList<Future<?>> tasks = new ArrayList<>(modules.length);
 			for (Module module : modules) {
-				module.loadInfo();
+				tasks.add(pool.submit(() -> {
+					module.loadInfo();
+					return null;
+				}));
+			}
+
+			for (int i = 0; i < modules.length; i++) {
+				try {
+					tasks.get(i).get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					errors.add(modules[i].getFile().getName() + ": " + (cause instanceof ModuleCanNotBeLoadedException ? cause.getMessage() : cause.toString()));
+				}
 			}
-		} catch(ModuleCanNotBeLoadedException e) {
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			throw new RuntimeTroubleException(e);
+		} finally {
+			pool.shutdownNow();
 		}
 
-		this.modules = modules;
+		if(errors.size() > 0) {
+			for (String error : errors) {
+				LoggingService.error("module can't be loaded: " + error);
+			}
+			throw new RuntimeTroubleException(new ModuleCanNotBeLoadedException(String.join(", ", errors)));
+		}
 	}
 	
 	/**
@@ -141,7 +276,7 @@ public class ModuleService {
 			}
 		}
 
-		this.modules = modules.toArray(new Module[modules.size()]);
+		this.registry = new ModuleRegistry(modules.toArray(new Module[modules.size()]));
 	}
 	
 	/**
@@ -150,7 +285,7 @@ public class ModuleService {
 	 * not really type-safe!
 	 */
 	public void setModules(Module[] modules) {
-		this.modules = modules;
+		this.registry = new ModuleRegistry(modules);
 	}
 
 	/**
@@ -162,19 +297,28 @@ public class ModuleService {
 
 		// Prefetch Libraries
 		this.libraries();
-		LoggingService.info("libraries fetched: " + String.join(", ", this.libaries.stream().toArray(c -> new String[c])));
+		LoggingService.info(() -> "libraries fetched: " + String.join(", ", this.libaries.getLibraries().stream().map(l -> l.getFile().getName()).toArray(c -> new String[c])));
 
 		// Fetch&Load Jars in Runtime
 		this.hang();
-		LoggingService.info("module-jars successfully heaped in runtime: " + String.join(", ", Arrays.stream(this.modules).map(m -> m.getDisplayName()).toArray(c -> new String[c])));
+		LoggingService.info(() -> "module-jars successfully heaped in runtime: " + String.join(", ", Arrays.stream(this.registry.getModules()).map(m -> m.getDisplayName()).toArray(c -> new String[c])));
 
-		// Check module-dependencies
-		this.check();
-		LoggingService.info("all module-dependencies found");
+		// Replay boot-plan of last boot, or check & resolve
+		File[] files = this.findPlanFiles();
+		if(this.replay(files)) {
+			LoggingService.info("all modules resolved (boot-plan)");
+		} else {
+			// Check module-dependencies
+			this.check();
+			LoggingService.info("all module-dependencies found");
 
-		// Resolve dependencies
-		this.resolve();
-		LoggingService.info("all modules resolved");
+			// Resolve dependencies
+			this.resolve(files);
+			LoggingService.info("all modules resolved");
+		}
+
+		// freeze container for lock-free lookups
+		this.container.freeze();
 
 		// finish
 		this.booted = true;
@@ -187,35 +331,576 @@ public class ModuleService {
 	 * @throws RuntimeTroubleException => something went wrong :/ Please check code or Modules
 	 */
 	private void hang() {
-		for (Module module : this.modules) {
+		this.loaders = new ModuleLoaderIndex(this.libraryLoader);
+
+		// activation pruning: boot module & everything it needs, every other module stays dormant
+		if(this.activationRoot != null) {
+			Module root = this.registry.find(this.activationRoot);
+			if(root == null) {
+				throw new RuntimeTroubleException(new Exception("Module '" + this.activationRoot + "' not loaded!"));
+			}
+
+			this.dormant = this.registry.getModules();
+			this.registry = new ModuleRegistry(new Module[0]);
+			this.activateClosure(root);
+			LoggingService.info(() -> "dormant modules: " + String.join(", ", Arrays.stream(this.dormant).map(m -> m.getDisplayName()).toArray(c -> new String[c])));
+			return;
+		}
+
+		for (Module module : this.registry.getModules()) {
 			try {
-				module.fetchJar();
+				module.fetchJar(this.loaders);
 			} catch (ModuleFileAlreadyLoadedException | ModuleCanNotBeLoadedException e) {
 				throw new RuntimeTroubleException(e);
 			}
 		}
+
+		this.link(Arrays.asList(this.registry.getModules()));
+	}
+
+	/**
+	 * visibility of every module (cmod.yml dependencies), wiring of heaped modules
+	 * 
+	 * @param heaped {@link List} of new heaped {@link Module}s
+	 */
+	private void link(List<Module> heaped) {
+		this.loaders.link(this.registry);
+		this.container.setClassLoader(this.loaders.getRuntimeLoader());
+
+		for (Module module : heaped) {
+			this.wire(module);
+		}
+	}
+
+	/*
+	 * Activation
+	 */
+
+	private String activationRoot = null;
+	private volatile Module[] dormant = new Module[0];
+
+	/**
+	 * activation pruning: heap & resolve only this module and everything it needs, every other module stays dormant
+	 * 
+	 * @param module {@link String} module name (boot module), null => every module (default)
+	 */
+	public void setActivationRoot(String module) {
+		this.activationRoot = module;
+	}
+
+	/**
+	 * activate dormant module after boot (activation pruning), with everything it needs
+	 * 
+	 * @param name {@link String} module name
+	 * @return {@link Module} active module
+	 * 
+	 * @throws RuntimeTroubleException => not booted, module unknown or not resolvable (stays dormant)
+	 */
+	public synchronized Module activate(String name) {
+		this.checkBooted();
+
+		String systemName = Module.parseSystemName(name);
+		Module module = this.registry.get(systemName);
+		if(module != null) {
+			return module;
+		}
+
+		module = Arrays.stream(this.dormant).filter(m -> m.getSystemName().equals(systemName)).findFirst().orElse(null);
+		if(module == null) {
+			throw new RuntimeTroubleException(new Exception("Module '" + name + "' not loaded!"));
+		}
+
+		List<Module> activated = this.activateClosure(module);
+		for (Module check : activated) {
+			String dependency = this.findUnresolvedDependency(check);
+			if(dependency != null) {
+				this.deactivate(activated);
+				throw new RuntimeTroubleException(new ModuleDependencyUnresolvableException(dependency));
+			}
+		}
+
+		try {
+			this.resolveAgain(activated);
+		} catch (RuntimeTroubleException e) {
+			this.dormant = this.concat(this.dormant, activated);
+			throw e;
+		}
+
+		LoggingService.info(() -> "modules activated: " + String.join(", ", activated.stream().map(m -> m.getDisplayName()).toArray(c -> new String[c])));
+		return module;
+	}
+
+	/**
+	 * activate module with its closure: dependencies (cmod.yml) and dormant providers (cmod.yml api) of every type
+	 * looked up by constructors, transitive
+	 * 
+	 * every activated module is heaped, linked & wired, but not resolved
+	 * 
+	 * @param root {@link Module} dormant
+	 * @return {@link List} of activated {@link Module}s
+	 * 
+	 * @throws RuntimeTroubleException => module-jar can't be heaped, nothing activated
+	 */
+	private List<Module> activateClosure(Module root) {
+		LinkedHashMap<String, Module> dormant = new LinkedHashMap<>();
+		HashMap<String, List<Module>> providers = new HashMap<>();
+		for (Module module : this.dormant) {
+			dormant.put(module.getSystemName(), module);
+			for (TypeInfo type : module.getTypes()) {
+				if(type.api != null && type.api.trim().length() > 0) {
+					providers.computeIfAbsent(type.api.trim(), api -> new ArrayList<>()).add(module);
+				}
+			}
+		}
+
+		ArrayList<Module> activated = new ArrayList<>();
+		ArrayList<Module> pending = new ArrayList<>(Collections.singletonList(root));
+		while(!pending.isEmpty()) {
+			// dependencies (cmod.yml)
+			ArrayList<Module> heap = new ArrayList<>();
+			while(!pending.isEmpty()) {
+				Module module = dormant.remove(pending.remove(pending.size() - 1).getSystemName());
+				if(module == null) {
+					// active or already activated
+					continue;
+				}
+
+				heap.add(module);
+				for (DependencyInfo dependency : module.getDependencies()) {
+					Module dependModule = dormant.get(dependency.getSystemName());
+					if(dependModule != null) {
+						pending.add(dependModule);
+					}
+				}
+			}
+
+			activated.addAll(heap);
+			try {
+				for (Module module : heap) {
+					module.fetchJar(this.loaders);
+				}
+			} catch (ModuleFileAlreadyLoadedException | ModuleCanNotBeLoadedException e) {
+				for (Module module : activated) {
+					this.unload(module);
+				}
+				this.registry = new ModuleRegistry(Arrays.stream(this.registry.getModules()).filter(m -> !activated.contains(m)).toArray(c -> new Module[c]));
+				throw new RuntimeTroubleException(e);
+			}
+			this.registry = new ModuleRegistry(this.concat(this.registry.getModules(), heap));
+			this.link(heap);
+
+			// api providers
+			for (Module module : heap) {
+				for (String type : this.resolver.findParameterTypes(module)) {
+					pending.addAll(providers.getOrDefault(type, Collections.emptyList()));
+				}
+			}
+		}
+
+		this.dormant = Arrays.stream(this.dormant).filter(m -> !activated.contains(m)).toArray(c -> new Module[c]);
+		return activated;
+	}
+
+	/**
+	 * activated modules back to dormant (not resolved)
+	 */
+	private void deactivate(List<Module> modules) {
+		for (Module module : modules) {
+			this.unload(module);
+		}
+		this.registry = new ModuleRegistry(Arrays.stream(this.registry.getModules()).filter(m -> !modules.contains(m)).toArray(c -> new Module[c]));
+		this.dormant = this.concat(this.dormant, modules);
+		this.link(Collections.emptyList());
+	}
+
+	private Module[] concat(Module[] modules, List<Module> more) {
+		Module[] all = Arrays.copyOf(modules, modules.length + more.size());
+		for (int i = 0; i < more.size(); i++) {
+			all[modules.length + i] = more.get(i);
+		}
+		return all;
+	}
+
+	/**
+	 * detect generated wiring (wiring processor), without wiring the types are discovered by reflection
+	 * 
+	 * @param module {@link Module}
+	 */
+	private void wire(Module module) {
+		String className = IModuleWiring.getClassName(module.getSystemName());
+		try {
+			module.setWiring((IModuleWiring) Class.forName(className, true, module.getClassLoader()).newInstance());
+			LoggingService.info("generated wiring found: {}", className);
+		} catch (ClassNotFoundException e) {
+			// not wired at build-time
+		} catch (InstantiationException | IllegalAccessException | ClassCastException e) {
+			LoggingService.warn("generated wiring '" + className + "' not usable, fallback to discovery");
+			LoggingService.warn(e);
+		}
 	}
 	
-	private ArrayList<String> libaries = new ArrayList<>();
+	private LibraryStore libaries;
+	private ModuleWatcher watcher;
+	private final ClassLoaderLeakDetector leakDetector = new ClassLoaderLeakDetector(10000);
+	private ClassLoader libraryLoader = ModuleService.class.getClassLoader();
+	private ModuleLoaderIndex loaders;
 	
+	/**
+	 * every distinct library once, in one class-loader (parent of every module class-loader)
+	 */
 	private void libraries() {
+		this.libaries = new LibraryStore(this.coreInfo.getLibaryDir());
+		try {
+			this.libaries.addAll(this.registry.getModules());
+			this.libraryLoader = this.libaries.getClassLoader(ModuleService.class.getClassLoader());
+		} catch (ModuleCanNotBeLoadedException | LibraryClashException | IOException e) {
+			throw new RuntimeTroubleException(e);
+		}
+		this.libaries.report();
+	}
+
+	/**
+	 * Get every distinct library (after boot)
+	 * 
+	 * @return {@link Collection} of {@link Library}
+	 */
+	public Collection<Library> getLibraries() {
+		return this.libaries == null ? Collections.emptyList() : this.libaries.getLibraries();
+	}
+
+
+	/*
+	 * Hot-Deploy
+	 */
+
+	/**
+	 * install or replace (same system-name) a module-jar after boot
+	 * 
+	 * only the module and its dependents (transitive: cmod.yml and every module which got its instances) are unloaded, heaped again and resolved,
+	 * every other module keeps its instances. If the new module can't be resolved, the replaced module and its dependents are restored.
+	 * Several versions in module-directory: only the version selected by the {@link VersionSolver} is installed.
+	 * 
+	 * @param file {@link File} module-jar
+	 * @return {@link Module} installed module
+	 * 
+	 * @throws RuntimeTroubleException => not booted, module not loadable, dependencies or libraries missing, not resolvable
+	 */
+	public synchronized Module install(File file) {
+		this.checkBooted();
+
+		Module module = new Module(file);
+		this.loadInfos(new Module[] { module });
+
+		Module old = this.registry.get(module.getSystemName());
+		if(old != null && old.getFile() == null) {
+			throw new RuntimeTroubleException(new ModuleCanNotBeLoadedException("module '" + old.getDisplayName() + "' is in debug-mode, no hot-deploy"));
+		}
+		this.checkSelected(module);
+
+		ArrayList<Module> modules = new ArrayList<>(Arrays.asList(this.registry.getModules()));
+		modules.remove(old);
+		modules.add(module);
+		ModuleRegistry next = new ModuleRegistry(modules.toArray(new Module[modules.size()]));
+
+		// check everything before anything is unloaded
+		String library = this.libaries.findMissingLibrary(module);
+		if(library != null) {
+			throw new RuntimeTroubleException(new ModuleCanNotBeLoadedException("library '" + library + "' of '" + module.getDisplayName() + "' isn't loaded, restart required"));
+		}
+
+		List<Module> dependents = old != null ? this.findDependents(old) : Collections.emptyList();
+		ArrayList<Module> affected = new ArrayList<>();
+		affected.add(module);
+		affected.addAll(dependents);
+
+		for (Module check : affected) {
+			String dependency = this.findUnresolvedDependency(check, next);
+			if(dependency != null) {
+				throw new RuntimeTroubleException(new ModuleDependencyUnresolvableException(dependency));
+			}
+		}
+
+		// unload old module & dependents, their instances may reference the old classes
+		this.unload(old);
+		for (Module dependent : dependents) {
+			this.unload(dependent);
+		}
+		this.registry = next;
+		this.dormant = Arrays.stream(this.dormant).filter(m -> !m.getSystemName().equals(module.getSystemName())).toArray(c -> new Module[c]);
+
+		if(old != null && !old.getFile().equals(file) && old.getFile().exists()) {
+			LoggingService.info("module {} not selected anymore ({})", old.getDisplayName(), old.getFile().getName());
+		}
+
+		try {
+			this.reload(affected);
+		} catch (RuntimeTroubleException e) {
+			if(old != null) {
+				this.restore(old, dependents);
+			}
+			throw e;
+		}
+		LoggingService.info(() -> "module " + (old != null ? "replaced" : "installed") + ": " + module.getDisplayName() + ", resolved again: "
+				+ String.join(", ", affected.stream().map(m -> m.getDisplayName()).toArray(c -> new String[c])));
+		return module;
+	}
+
+	/**
+	 * several versions in module-directory: only the version selected by the {@link VersionSolver} can be installed
+	 * (installed modules of other names are fixed), same selection as on next boot
+	 * 
+	 * @param module {@link Module} to install, with module-information
+	 * @throws RuntimeTroubleException => another version is selected or no version matches every limitation
+	 */
+	private void checkSelected(Module module) {
+		File directory = this.coreInfo.getModuleDir();
+		if(!directory.isDirectory()) {
+			return;
+		}
+
+		File file = module.getFile().getAbsoluteFile();
+		Module[] versions = Arrays.stream(this.readModules(directory))
+				.filter(m -> m.getSystemName().equals(module.getSystemName()) && !m.getFile().getAbsoluteFile().equals(file))
+				.toArray(c -> new Module[c]);
+		if(versions.length == 0) {
+			return;
+		}
+
+		// other modules as installed, every version of this one
+		Stream<Module> others = Stream.concat(Arrays.stream(this.registry.getModules()), Arrays.stream(this.dormant))
+				.filter(m -> !m.getSystemName().equals(module.getSystemName()));
+		Module[] modules = Stream.concat(others, Stream.concat(Arrays.stream(versions), Stream.of(module))).toArray(c -> new Module[c]);
+
+		Module selected;
+		try {
+			selected = Arrays.stream(new VersionSolver(modules).solve()).filter(m -> m.getSystemName().equals(module.getSystemName())).findFirst().get();
+		} catch (ModuleVersionConflictException e) {
+			throw new RuntimeTroubleException(e);
+		}
+
+		if(selected != module) {
+			throw new RuntimeTroubleException(new ModuleVersionConflictException("module " + module.getDisplayName() + " (" + module.getFile().getName() + ") not selected, " 
+					+ selected.getDisplayName() + " (" + selected.getFile().getName() + ") is preferred"));
+		}
+	}
+
+	/**
+	 * uninstall a module after boot (no other module may depend on it or hold its instances)
+	 * 
+	 * @param name {@link String} module name
+	 * 
+	 * @throws RuntimeTroubleException => not booted, module unknown or still required
+	 */
+	public synchronized void uninstall(String name) {
+		this.checkBooted();
+
+		String systemName = Module.parseSystemName(name);
+		Module module = this.registry.get(systemName);
+		if(module == null && Arrays.stream(this.dormant).anyMatch(m -> m.getSystemName().equals(systemName))) {
+			this.dormant = Arrays.stream(this.dormant).filter(m -> !m.getSystemName().equals(systemName)).toArray(c -> new Module[c]);
+			LoggingService.info("dormant module uninstalled: {}", name);
+			return;
+		}
+		if(module == null) {
+			throw new RuntimeTroubleException(new Exception("Module '" + name + "' not loaded!"));
+		}
+		if(module.getFile() == null) {
+			throw new RuntimeTroubleException(new ModuleCanNotBeLoadedException("module '" + module.getDisplayName() + "' is in debug-mode, no hot-deploy"));
+		}
+
+		List<Module> dependents = this.findDependents(module);
+		if(dependents.size() > 0) {
+			throw new RuntimeTroubleException(new ModuleStillRequiredException("module '" + module.getDisplayName() + "' is required by: " 
+					+ String.join(", ", dependents.stream().map(m -> m.getDisplayName()).toArray(c -> new String[c]))));
+		}
+
+		this.unload(module);
+		this.registry = new ModuleRegistry(Arrays.stream(this.registry.getModules()).filter(m -> m != module).toArray(c -> new Module[c]));
+		this.link(Collections.emptyList());
+		LoggingService.info("module uninstalled: {}", module.getDisplayName());
+	}
+
+	/**
+	 * watch module-directory: new or changed module-jars are installed, removed ones uninstalled
+	 * 
+	 * @param directory {@link File} module-directory
+	 * 
+	 * @throws RuntimeTroubleException => not booted, directory not watchable
+	 */
+	public synchronized void watch(File directory) {
+		this.checkBooted();
+		if(this.watcher != null) {
+			return;
+		}
+
+		try {
+			this.watcher = new ModuleWatcher(this, directory);
+		} catch (IOException e) {
+			throw new RuntimeTroubleException(e);
+		}
+		this.watcher.start();
+		LoggingService.info("watching module-directory: {}", directory.getAbsolutePath());
+	}
+
+	/**
+	 * stop watching module-directory (see {@link #watch(File)}), a running deployment is finished first
+	 */
+	public synchronized void unwatch() {
+		if(this.watcher == null) {
+			return;
+		}
+
+		try {
+			this.watcher.close();
+		} catch (IOException e) {
+			LoggingService.warn(e);
+		}
+		this.watcher = null;
+		LoggingService.info("module-directory not watched anymore");
+	}
+
+	/**
+	 * heap & resolve modules again (hot-deploy), on failure every one of them is uninstalled
+	 * 
+	 * @param reload {@link List} of unloaded {@link Module}s, already in module-list
+	 */
+	private void reload(List<Module> reload) {
+		try {
+			for (Module module : reload) {
+				module.fetchJar(this.loaders);
+			}
+		} catch (ModuleFileAlreadyLoadedException | ModuleCanNotBeLoadedException e) {
+			this.drop(reload);
+			throw new RuntimeTroubleException(e);
+		}
+
+		this.link(reload);
+		this.resolveAgain(reload);
+	}
+
+	/**
+	 * failed replacement: heap & resolve the replaced module and its dependents again (resolvable before),
+	 * errors are logged (e.g. jar-file replaced in place)
+	 * 
+	 * @param old {@link Module} replaced, unloaded
+	 * @param dependents {@link List} of unloaded {@link Module}s
+	 */
+	private void restore(Module old, List<Module> dependents) {
+		ArrayList<Module> restore = new ArrayList<>();
+		restore.add(old);
+		restore.addAll(dependents);
+		this.registry = new ModuleRegistry(this.concat(this.registry.getModules(), restore));
+
+		try {
+			this.reload(restore);
+			LoggingService.warn("modules restored: " + String.join(", ", restore.stream().map(m -> m.getDisplayName()).toArray(c -> new String[c])));
+		} catch (RuntimeTroubleException e) {
+			LoggingService.error("modules can't be restored, restart required");
+			LoggingService.error(e);
+		}
+	}
+
+	/**
+	 * resolve heaped modules after boot, on failure every one of them is uninstalled
+	 * 
+	 * @param modules {@link List} of heaped {@link Module}s, already in module-list
+	 */
+	private void resolveAgain(List<Module> modules) {
+		try {
+			this.resolver.resolveModules(modules.toArray(new Module[modules.size()]));
+		} catch (ModuleDependencyUnresolvableException | ModuleControllerClassException | ModuleApiClassNotFoundException 
+				| ModuleControllerDoesntImplementApiException | ModuleCanNotBootedException | DependencyCycleException 
+				| DependencyNotResolvedException e) {
+			this.drop(modules);
+			throw new RuntimeTroubleException(e);
+		} catch (RuntimeTroubleException e) {
+			this.drop(modules);
+			throw e;
+		}
+	}
+
+	/**
+	 * uninstall partially resolved modules
+	 */
+	private void drop(List<Module> modules) {
 		for (Module module : modules) {
-			for (String lib : module.getLibraries()) {
-				if(libaries.contains(lib)) continue;
-				try {
-					URLClassLoader classLoader = (URLClassLoader)ClassLoader.getSystemClassLoader();
-					Method method = URLClassLoader.class.getDeclaredMethod("addURL", URL.class);
-					method.setAccessible(true);
-					method.invoke(classLoader, new File(this.coreInfo.getLibaryDir() + "/" + lib).toURI().toURL());
-				} catch (IOException | NoSuchMethodException 
-						| SecurityException | IllegalAccessException
-						| IllegalArgumentException | InvocationTargetException e) {
-					throw new RuntimeTroubleException(e);
+			this.unload(module);
+		}
+		this.registry = new ModuleRegistry(Arrays.stream(this.registry.getModules()).filter(m -> !modules.contains(m)).toArray(c -> new Module[c]));
+		this.link(Collections.emptyList());
+
+		LoggingService.error("modules uninstalled (not resolvable): " + String.join(", ", modules.stream().map(m -> m.getDisplayName()).toArray(c -> new String[c])));
+	}
+
+	/**
+	 * remove instances of module from container, release its class-loader (leak check)
+	 * 
+	 * @param module {@link Module} or null
+	 */
+	private void unload(Module module) {
+		if(module == null || !(module.getClassLoader() instanceof ModuleClassLoader)) {
+			return;
+		}
+
+		this.resolver.removeModule(module);
+		int removed = this.container.removeDependencies(module.getClassLoader());
+		String name = module.getDisplayName();
+		this.leakDetector.watch(name, module.unload(this.loaders));
+		LoggingService.info("module unloaded: {} ({} instances removed)", name, removed);
+	}
+
+	/**
+	 * every module depending on module (transitive): cmod.yml dependencies and every module
+	 * which got instances of it while resolving (dependency graph: api, Supplier, List)
+	 * 
+	 * @param module {@link Module}
+	 * @return {@link List} of active {@link Module}s, dependencies first
+	 */
+	private List<Module> findDependents(Module module) {
+		ArrayList<Module> dependents = new ArrayList<>();
+		ArrayList<Module> pending = new ArrayList<>(Collections.singletonList(module));
+
+		for (int i = 0; i < pending.size(); i++) {
+			Module current = pending.get(i);
+			Set<Module> consumers = new LinkedHashSet<>(this.registry.getDependents(current));
+			consumers.addAll(this.resolver.findConsumers(current));
+
+			for (Module dependent : consumers) {
+				if(dependent != module && !dependents.contains(dependent) && this.registry.get(dependent.getSystemName()) == dependent) {
+					dependents.add(dependent);
+					pending.add(dependent);
 				}
 			}
 		}
+
+		return dependents;
 	}
 
+	/**
+	 * find active or dormant module by jar-file
+	 * 
+	 * @param file {@link File}
+	 * @return {@link Module} or null
+	 */
+	Module findModule(File file) {
+		File absolute = file.getAbsoluteFile();
+		return Stream.concat(Arrays.stream(this.registry.getModules()), Arrays.stream(this.dormant)).filter(m -> m.getFile() != null && m.getFile().getAbsoluteFile().equals(absolute)).findFirst().orElse(null);
+	}
+
+	/**
+	 * module-system booted? (see {@link #boot()})
+	 * 
+	 * @return {@link Boolean}
+	 */
+	public boolean isBooted() {
+		return this.booted;
+	}
+
+	private void checkBooted() {
+		if(!this.booted) {
+			throw new RuntimeTroubleException(new ModuleCanNotBeLoadedException("hot-deploy is only possible after boot"));
+		}
+	}
 
 	/**
 	 * check every dependency in all modules
@@ -223,7 +908,7 @@ public class ModuleService {
 	 * @throws RuntimeTroubleException => something went wrong :/ Please check code or Modules
 	 */
 	private void check() {
-		for (Module module : this.modules) {
+		for (Module module : this.registry.getModules()) {
 			String dependency = this.findUnresolvedDependency(module);
 			if(dependency != null) {
 				throw new RuntimeTroubleException(new ModuleDependencyUnresolvableException(dependency));
@@ -238,21 +923,21 @@ public class ModuleService {
 	 * @return [String=first unresolved dependency]|[null=no unresolved dependencies]
 	 */
 	public String findUnresolvedDependency(Module module) {
-		for (DependencyInfo dependency : module.getDependencies()) {
-			Module dependModule = Arrays.stream(this.modules)
-					.filter(dModule -> dModule.getSystemName().equalsIgnoreCase(Module.parseSystemName(dependency.name)))
-					.findFirst()
-					.orElse(null);
-			if(dependModule == null) {
-				return dependency.name;
+		return this.findUnresolvedDependency(module, this.registry);
+	}
+
+	private String findUnresolvedDependency(Module module, ModuleRegistry registry) {
+		DependencyInfo[] dependencies = module.getDependencies();
+		Module[] resolved = registry.getDependencies(module);
+
+		for (int i = 0; i < dependencies.length; i++) {
+			if(resolved[i] == null) {
+				return dependencies[i].name;
 			}
 
-			DependencyLimitation notMatchLimitation = dependency.limitations == null ? null : Arrays.stream(dependency.limitations)
-					.filter(limitation -> !limitation.version.match(dependModule.getVersion(), limitation.expression))
-					.findFirst()
-					.orElse(null);
-			if(notMatchLimitation != null) {
-				return dependency.name + " (" + notMatchLimitation.expression + " " + notMatchLimitation.version.getVersionName() + ")";
+			if(!dependencies[i].matches(resolved[i].getVersion())) {
+				DependencyLimitation notMatchLimitation = dependencies[i].findUnmatched(resolved[i].getVersion());
+				return dependencies[i].name + " (" + notMatchLimitation.pattern + ", found " + resolved[i].getVersion().getVersionName() + ")";
 			}
 		}
 		return null;
@@ -261,71 +946,95 @@ public class ModuleService {
 	/**
 	 * Resolve every dependency
 	 * 
+	 * @param files {@link File}[] for boot-plan, null => no boot-plan
+	 * 
 	 * @throws RuntimeTroubleException => something went wrong :/ Please check code or Modules
 	 */
-	private void resolve() {
-		ArrayList<Module> unresolved = new ArrayList<Module>(Arrays.asList(this.modules));
-
-
-		while(unresolved.size() > 0) {
-			int unresolvedStart = unresolved.size();
-
-			for (Module module : unresolved.toArray(new Module[unresolved.size()])) {
-				LoggingService.breaker("try resolve " + module.getDisplayName());
-
-				try {
-					this.container.setSessionDependencies(this.buildSpecialDependencyMap(module));
-					this.resolver.resolveTypes(module.getTypes());
-					this.container.cleanSessionDependencies();
+	private void resolve(File[] files) {
+		List<DependencyNode> order;
+		try {
+			order = this.resolver.resolveModules(this.registry.getModules());
+		} catch (ModuleDependencyUnresolvableException | ModuleControllerClassException | ModuleApiClassNotFoundException
+				| ModuleControllerDoesntImplementApiException | ModuleCanNotBootedException | DependencyCycleException 
+				| DependencyNotResolvedException e) {
+			throw new RuntimeTroubleException(e);
+		}
 
-					unresolved.remove(module);
-					LoggingService.info("..resolved");
+		LoggingService.breaker("all modules resolved");
 
-				} catch (ModuleDependencyUnresolvableException e) {
-					this.container.cleanSessionDependencies();
-					LoggingService.warn("..Module " + module.getDisplayName() + " can not resolved!");
-					LoggingService.warn(e);
+		// save boot-plan for next boot
+		if(files != null) {
+			try {
+				BootPlan.of(files, order).write(this.getPlanFile());
+				LoggingService.info("boot-plan saved");
+			} catch (IOException e) {
+				LoggingService.warn("boot-plan can not be saved");
+				LoggingService.warn(e);
+			}
+		}
+	}
 
-				} catch (ModuleControllerClassException | ModuleApiClassNotFoundException
-						| ModuleControllerDoesntImplementApiException | ModuleCanNotBootedException | DependencyNotResolvedException e) {
+	/*
+	 * Boot-Plan
+	 */
 
-					this.container.cleanSessionDependencies();
-					throw new RuntimeTroubleException(e);
+	private File getPlanFile() {
+		return new File(this.coreInfo.getBaseDir(), BootPlan.FILE_NAME);
+	}
 
-				}
+	/**
+	 * every module- and library-jar, sorted by path
+	 * 
+	 * @return {@link File}[], null if any module is in debug-mode (no boot-plan)
+	 */
+	private File[] findPlanFiles() {
+		TreeMap<String, File> files = new TreeMap<>();
 
+		for (Module module : this.registry.getModules()) {
+			if(module.getFile() == null) {
+				return null;
 			}
+			files.put(module.getFile().getAbsolutePath(), module.getFile());
 
-			if(unresolvedStart == unresolved.size()) {
-				break;
+			for (String lib : module.getLibraries()) {
+				File library = new File(this.coreInfo.getLibaryDir() + "/" + lib);
+				files.put(library.getAbsolutePath(), library);
 			}
 		}
 
-		// are there unresolvable Modules?
-		if(unresolved.size() > 0) {
-			throw new RuntimeTroubleException(new ModuleCanNotBootedException( 
-					unresolved.stream()
-					.map(module -> module.getDisplayName())
-					.toArray(c -> new String[c])));
-		}
-
-		LoggingService.breaker("all modules resolved");
+		return files.values().toArray(new File[files.size()]);
 	}
 
-
-	private HashMap<DependencyType, Object> buildSpecialDependencyMap(Module currentModule) {
-		HashMap<DependencyType, Object> map = new HashMap<>();
-
-		// map builder
-		map.put(DependencyType.CurrentModule, (IModule)currentModule);
+	/**
+	 * replay boot-plan of last boot, if every module- and library-jar is unchanged
+	 * 
+	 * @param files {@link File}[] every module- and library-jar, null => no boot-plan
+	 * @return {@link Boolean} replayed
+	 * 
+	 * @throws RuntimeTroubleException => something went wrong while construction
+	 */
+	private boolean replay(File[] files) {
+		File planFile = this.getPlanFile();
+		if(files == null || !planFile.isFile()) {
+			return false;
+		}
 
 		try {
-			map.put(DependencyType.LocaleService, (ILocaleService) new LocaleService(currentModule));
-		} catch(MissingResourceException e) {
+			BootPlan plan = BootPlan.read(planFile);
+			if(!plan.matches(files)) {
+				LoggingService.info("boot-plan outdated");
+				return false;
+			}
+
+			this.resolver.replayModules(this.registry.getModules(), plan);
+			return true;
+		} catch (IOException | BootPlanInvalidException e) {
+			LoggingService.warn("boot-plan not usable, resolve modules");
 			LoggingService.warn(e);
+			return false;
+		} catch (ModuleDependencyUnresolvableException | ModuleCanNotBootedException | DependencyNotResolvedException e) {
+			throw new RuntimeTroubleException(e);
 		}
-
-		return map;
 	}
 
 }
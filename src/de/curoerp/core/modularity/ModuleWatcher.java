@@ -0,0 +1,117 @@
+package de.curoerp.core.modularity;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.concurrent.TimeUnit;
+
+import de.curoerp.core.exception.RuntimeTroubleException;
+import de.curoerp.core.logging.LoggingService;
+import de.curoerp.core.modularity.module.Module;
+
+/**
+ * Module-Watcher: hot-deploy of module-jars (WatchService on module-directory)
+ * 
+ * events are collected until the directory is quiet (jars are written in chunks),
+ * then every new or changed module-jar is installed, every removed one uninstalled (see {@link ModuleService#install(File)}).
+ * 
+ * @category Dependency loading System
+ */
+public class ModuleWatcher implements AutoCloseable {
+
+	// milliseconds without events until deployment
+	private static final long QUIET = 1000;
+
+	private final ModuleService service;
+	private final Path directory;
+	private final WatchService watchService;
+	private final Thread thread;
+
+	/**
+	 * @param service {@link ModuleService} booted
+	 * @param directory {@link File} module-directory
+	 * @throws IOException => directory not watchable
+	 */
+	public ModuleWatcher(ModuleService service, File directory) throws IOException {
+		this.service = service;
+		this.directory = directory.toPath();
+		this.watchService = this.directory.getFileSystem().newWatchService();
+		this.directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+		// not daemon: runtime keeps watching until closed (see ModuleService#unwatch(), Runtime#close())
+		this.thread = new Thread(this::run, "module-watcher");
+	}
+
+	public void start() {
+		this.thread.start();
+	}
+
+	private void run() {
+		try {
+			while(true) {
+				LinkedHashSet<Path> changed = new LinkedHashSet<>();
+
+				WatchKey key = this.watchService.take();
+				while(key != null) {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							LoggingService.warn("module-watcher: events lost, changes may be ignored");
+							continue;
+						}
+
+						Path path = this.directory.resolve((Path) event.context());
+						if(path.getFileName().toString().endsWith(".cmod.jar")) {
+							changed.add(path);
+						}
+					}
+					key.reset();
+					key = this.watchService.poll(QUIET, TimeUnit.MILLISECONDS);
+				}
+
+				for (Path path : changed) {
+					this.deploy(path.toFile());
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+
+	/**
+	 * install/replace or uninstall module-jar, errors are logged
+	 * 
+	 * @param file {@link File} module-jar
+	 */
+	private void deploy(File file) {
+		try {
+			if(file.isFile()) {
+				this.service.install(file);
+				return;
+			}
+
+			Module module = this.service.findModule(file);
+			if(module != null) {
+				this.service.uninstall(module.getSystemName());
+			}
+		} catch (RuntimeTroubleException e) {
+			LoggingService.error("hot-deploy of '" + file.getName() + "' failed");
+			LoggingService.error(e);
+		}
+	}
+
+	/**
+	 * stop watching
+	 */
+	@Override
+	public void close() throws IOException {
+		this.watchService.close();
+		this.thread.interrupt();
+	}
+
+}
@@ -1,6 +0,0 @@
-package de.curoerp.core.modularity.dependency;
-
-public class Dependency {
-	public String classPath;
-	public Object instance;
-}
@@ -1,22 +1,47 @@
 package de.curoerp.core.modularity.dependency;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import de.curoerp.core.modularity.DependencyType;
-import de.curoerp.core.modularity.SpecialDependency;
-import de.curoerp.core.modularity.annotations.CuroMultiDependency;
-import de.curoerp.core.modularity.annotations.CuroNoDependency;
 import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
 
+/**
+ * Dependency Container
+ * 
+ * While booting every access is synchronized, after {@link #freeze()} lookups
+ * read an immutable {@link DependencySnapshot} without any lock.
+ * 
+ * @category Dependency loading System
+ */
 public class DependencyContainer implements IDependencyContainer {
 
-	private ArrayList<Dependency> resolvedDependencies;
-	private HashMap<DependencyType, Object> instanceDependencies = new HashMap<>();
+	/*
+	 * Index (boot): every registered class => instances (exact match)
+	 * and every class/superclass/interface of an instance => instances (assignable match)
+	 */
+	private HashMap<Class<?>, ArrayList<Object>> exactDependencies;
+	private HashMap<Class<?>, ArrayList<Object>> assignableDependencies;
+	private final Object lock = new Object();
+	private final Object[] self = new Object[] {this};
+
+	// Index (after boot), safely published
+	private volatile DependencySnapshot snapshot = null;
+
+	private final ConcurrentHashMap<String, Class<?>> classCache = new ConcurrentHashMap<>();
+	private volatile ClassLoader classLoader = DependencyContainer.class.getClassLoader();
+	private volatile Map<DependencyType, Object> instanceDependencies = Collections.emptyMap();
 
 	public DependencyContainer() {
-		this.resolvedDependencies = new ArrayList<>();
+		this.exactDependencies = new HashMap<>();
+		this.assignableDependencies = new HashMap<>();
 	}
 
 	/*
@@ -31,11 +56,7 @@ public class DependencyContainer implements IDependencyContainer {
 	 * @throws DependencyNotResolvedException
 	 */
 	public Object findSingleInstanceOf(String fqcn) throws DependencyNotResolvedException {
-		try {
-			return findSingleInstanceOf(Class.forName(fqcn));
-		} catch (ClassNotFoundException e) {
-			throw new DependencyNotResolvedException("class '" + fqcn + "' can not found in current runtime (module not loaded?)");
-		}
+		return findSingleInstanceOf(this.findClass(fqcn));
 	}
 
 	/**
@@ -49,14 +70,86 @@ public class DependencyContainer implements IDependencyContainer {
 	public Object findSingleInstanceOf(Class<?> cls) throws DependencyNotResolvedException {
 		// is multi-dependency?
 		if(this.isMultiDependency(cls)) {
-			throw new DependencyNotResolvedException("You are searching for a MDO (@CuroMultiDependency)! Please use findInstancOf instead of findSingleInstanceOf!");
+			throw new DependencyNotResolvedException("You are searching for a MDO (@CuroMultiDependency)! Please use findInstancOf instead of findSingleInstanceOf!", false);
 		}
 		
-		Object[] ts = findInstancesOf(cls);
+		Object[] ts = this.lookup(cls);
+		if(ts == null) {
+			throw this.notResolved(cls);
+		}
 		if(ts.length > 1) {
-			throw new DependencyNotResolvedException("more than 1 dependency of '" + cls.getName() + "'");
+			throw new DependencyNotResolvedException("more than 1 dependency of '" + cls.getName() + "'", false);
 		}
-		return ts[0];
+		return LazyDependency.unwrap(ts[0]);
+	}
+
+	/**
+	 * find single instance of type (Class<T>), without exceptions
+	 * 
+	 * @param cls Class<T>
+	 * @return T instance of cls, null if not resolved, not exactly one or MDO (@CuroMultiDependency)
+	 */
+	public Object tryFindSingleInstanceOf(Class<?> cls) {
+		Object obj = this.lookupSingleInstanceOf(cls);
+		return obj != AMBIGUOUS ? obj : null;
+	}
+
+	/**
+	 * find single instance of type (Class<T>), without exceptions, misses distinguishable
+	 * 
+	 * @param cls Class<T>
+	 * @return T instance of cls, {@link IDependencyContainer#AMBIGUOUS} if more than 1, null if not resolved or MDO (@CuroMultiDependency)
+	 */
+	public Object lookupSingleInstanceOf(Class<?> cls) {
+		if(this.isMultiDependency(cls)) {
+			return null;
+		}
+
+		Object[] ts = this.lookup(cls);
+		if(ts == null) {
+			return null;
+		}
+		return ts.length == 1 ? LazyDependency.unwrap(ts[0]) : AMBIGUOUS;
+	}
+
+	/**
+	 * any instance of type (Class<T>) resolved? (lazy types are not activated)
+	 * 
+	 * @param cls Class<T>
+	 * @return {@link Boolean}
+	 */
+	public boolean contains(Class<?> cls) {
+		return this.lookup(cls) != null;
+	}
+
+	/**
+	 * count of instances of type (Class<T>), same matching as {@link #lookupSingleInstanceOf(Class)}; lazy types are not activated
+	 * 
+	 * @param cls Class<T>
+	 * @return {@link Integer} 0 if not resolved, > 1 => ambiguous
+	 */
+	public int countInstancesOf(Class<?> cls) {
+		Object[] ts = this.lookup(cls);
+		return ts == null ? 0 : ts.length;
+	}
+
+	/**
+	 * types of every instance of type (Class<T>), same matching as {@link #findInstanceListOf(Class)}; lazy types are not activated
+	 * 
+	 * @param cls Class<T>
+	 * @return {@link List} of Class<?>, empty if nothing resolved
+	 */
+	public List<Class<?>> findTypesOf(Class<?> cls) {
+		Object[] ts = this.lookup(cls);
+		if(ts == null) {
+			return Collections.emptyList();
+		}
+
+		ArrayList<Class<?>> types = new ArrayList<>(ts.length);
+		for (Object obj : ts) {
+			types.add(LazyDependency.typeOf(obj));
+		}
+		return types;
 	}
 
 	/**
@@ -69,11 +162,7 @@ public class DependencyContainer implements IDependencyContainer {
 	 */
 	@Override
 	public Object[] findInstancesOf(String fqcn) throws DependencyNotResolvedException {
-		try {
-			return findInstancesOf(Class.forName(fqcn));
-		} catch (ClassNotFoundException e) {
-			throw new DependencyNotResolvedException("class '" + fqcn + "' can not found in current runtime (module not loaded?)");
-		}
+		return findInstancesOf(this.findClass(fqcn));
 	}
 
 	/**
@@ -85,67 +174,170 @@ public class DependencyContainer implements IDependencyContainer {
 	 * @throws DependencyNotResolvedException
 	 */
 	public Object[] findInstancesOf(Class<?> cls) throws DependencyNotResolvedException {
+		Object[] dependencies = this.lookup(cls);
+		if(dependencies == null) {
+			throw this.notResolved(cls);
+		}
+
+		// never publish shared arrays
+		Object[] instances = dependencies.clone();
+		for (int i = 0; i < instances.length; i++) {
+			instances[i] = LazyDependency.unwrap(instances[i]);
+		}
+		return instances;
+	}
+
+	/**
+	 * find all instances of type (Class<T>) as list
+	 * 
+	 * after {@link #freeze()} the list is built once per type and shared (=> plugins, fan-out)
+	 * 
+	 * @param cls Class<T>
+	 * @return {@link List} immutable, ordered by registration, empty if nothing resolved
+	 */
+	public List<Object> findInstanceListOf(Class<?> cls) {
+		DependencySnapshot snapshot = this.snapshot;
+
+		// session dependencies change, never cache them
+		if(snapshot == null || cls == IDependencyContainer.class || TypeDescriptor.of(cls).getSpecial() != null) {
+			return DependencyContainer.toList(this.lookup(cls));
+		}
+		if(this.isNoDependency(cls)) {
+			return Collections.emptyList();
+		}
+
+		List<Object> list = snapshot.findList(cls);
+		if(list == null) {
+			// not computeIfAbsent: lazy types may look up other lists while construction
+			Object[] dependencies = snapshot.findExact(cls);
+			list = DependencyContainer.toList(dependencies != null ? dependencies : snapshot.findAssignable(cls));
+			list = snapshot.cacheList(cls, list);
+		}
+		return list;
+	}
+
+	private static List<Object> toList(Object[] dependencies) {
+		if(dependencies == null) {
+			return Collections.emptyList();
+		}
+
+		Object[] instances = new Object[dependencies.length];
+		for (int i = 0; i < instances.length; i++) {
+			instances[i] = LazyDependency.unwrap(dependencies[i]);
+		}
+		return Collections.unmodifiableList(Arrays.asList(instances));
+	}
+
+	/**
+	 * find instances without exceptions: special, annotations, index
+	 * 
+	 * @param cls Class<?>
+	 * @return Object[] (shared, never modify!) or null
+	 */
+	private Object[] lookup(Class<?> cls) {
 		// check special: this
-		if(cls.getName().equals(IDependencyContainer.class.getName())) {
-			return new Object[] {this};
+		if(cls == IDependencyContainer.class) {
+			return this.self;
 		}
-		
-		// check special: annotations
-		Object obj = this.processAnnotations(cls);
-		if(obj != null) {
-			return new Object[] {obj};
-		}
-
-		// check special: parent-classes
-		if(!this.resolvedDependencies.stream().anyMatch(d -> d.classPath.equals(cls.getName()))) {
-			Object[] dependencies = this.resolvedDependencies.stream()
-					.map(e -> e.instance)
-					.filter(e -> cls.isAssignableFrom(e.getClass()))
-					.toArray(c -> new Object[c]);
-			if(dependencies.length > 0) {
-				return dependencies;
+
+		// check special: annotations (View Github#11)
+		if(this.isNoDependency(cls)) {
+			return null;
+		}
+
+		DependencyType special = TypeDescriptor.of(cls).getSpecial();
+		if(special != null) {
+			Object obj = this.instanceDependencies.get(special);
+			if(obj != null) {
+				return new Object[] {obj};
 			}
+		}
 
-			throw new DependencyNotResolvedException("dependency '" + cls.getName() + "' not resolved");
+		return this.findIndexed(cls);
+	}
+
+	/**
+	 * find instances in index: exact match first, then parent-classes
+	 * 
+	 * @param cls Class<?>
+	 * @return Object[] (shared, never modify!) or null
+	 */
+	private Object[] findIndexed(Class<?> cls) {
+		DependencySnapshot snapshot = this.snapshot;
+		if(snapshot == null) {
+			synchronized (this.lock) {
+				snapshot = this.snapshot;
+				if(snapshot == null) {
+					ArrayList<Object> dependencies = this.exactDependencies.get(cls);
+					if(dependencies == null) {
+						dependencies = this.assignableDependencies.get(cls);
+					}
+					return dependencies == null ? null : dependencies.toArray();
+				}
+			}
 		}
 
-		// everything is good!
-		return this.resolvedDependencies.stream()
-				.filter(d -> d.classPath.equals(cls.getName()))
-				.map(e -> e.instance)
-				.toArray(c -> new Object[c]);
+		// frozen: lock-free
+		Object[] dependencies = snapshot.findExact(cls);
+		if(dependencies == null) {
+			dependencies = snapshot.findAssignable(cls);
+		}
+		return dependencies;
 	}
 
 	/**
-	 * process all dependency-annotations (View Github#11)
+	 * exception for a missing dependency (expected miss => without stack trace)
 	 * 
 	 * @param cls Class<?>
-	 * @return Object (your instance of Class<T>)
-	 * @throws DependencyNotResolvedException
+	 * @return {@link DependencyNotResolvedException}
 	 */
-	private Object processAnnotations(Class<?> cls) throws DependencyNotResolvedException {
-		// is not an dependency?
+	private DependencyNotResolvedException notResolved(Class<?> cls) {
 		if(this.isNoDependency(cls)) {
-			throw new DependencyNotResolvedException("dependency '" + cls.getName() + "' is marked as not resolvable (@CuroNoDependency)");
+			return new DependencyNotResolvedException("dependency '" + cls.getName() + "' is marked as not resolvable (@CuroNoDependency)", false);
 		}
+		return new DependencyNotResolvedException("dependency '" + cls.getName() + "' not resolved", false);
+	}
 
-		// special dependency?
-		SpecialDependency aSpecialDependency = cls.getAnnotation(SpecialDependency.class);
-		if(aSpecialDependency != null) {
-			if(this.instanceDependencies.containsKey(aSpecialDependency.type())) {
-				return this.instanceDependencies.get(aSpecialDependency.type());
-			}
+	/**
+	 * class-loader for full qualified class names (e.g. every module)
+	 * 
+	 * @param classLoader {@link ClassLoader}
+	 */
+	public void setClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+		this.classCache.clear();
+	}
+
+	/**
+	 * find class by full qualified class name (cached)
+	 * 
+	 * @param fqcn {@link String} full qualified class name
+	 * @return Class<?>
+	 * 
+	 * @throws DependencyNotResolvedException
+	 */
+	Class<?> findClass(String fqcn) throws DependencyNotResolvedException {
+		Class<?> cls = this.classCache.get(fqcn);
+		if(cls != null) {
+			return cls;
+		}
+
+		try {
+			cls = Class.forName(fqcn, true, this.classLoader);
+		} catch (ClassNotFoundException e) {
+			throw new DependencyNotResolvedException("class '" + fqcn + "' can not found in current runtime (module not loaded?)", false);
 		}
 
-		return null;
+		this.classCache.put(fqcn, cls);
+		return cls;
 	}
 
 	private boolean isNoDependency(Class<?> cls) {
-		return cls.getAnnotation(CuroNoDependency.class) != null;
+		return TypeDescriptor.of(cls).isNoDependency();
 	}
 	
 	private boolean isMultiDependency(Class<?> cls) {
-		return cls.getAnnotation(CuroMultiDependency.class) != null;
+		return TypeDescriptor.of(cls).isMultiDependency();
 	}
 	
 	/*
@@ -160,13 +352,124 @@ public class DependencyContainer implements IDependencyContainer {
 			throw new DependencyNotResolvedException("Object is not a instance of class '" + cls.getName() + "'");
 		}
 		
-		Dependency dependency = new Dependency();
-		dependency.classPath = cls.getName();
-		dependency.instance = instance;
-		this.resolvedDependencies.add(dependency);
+		this.register(cls, instance, TypeDescriptor.of(instance.getClass()).getTypes());
+	}
+
+	/**
+	 * register lazy type: constructed on first lookup, session dependencies are bound now
+	 * 
+	 * @param cls Class<?> registered class
+	 * @param factory {@link TypeFactory} of cls (or a subclass)
+	 * @param session {@link Map} session dependencies or null
+	 * 
+	 * @throws DependencyNotResolvedException
+	 */
+	public void addLazyDependency(Class<?> cls, TypeFactory factory, Map<DependencyType, Object> session) throws DependencyNotResolvedException {
+		if(cls == null || factory == null) {
+			throw new DependencyNotResolvedException("null is not an option");
+		}
+		if(!cls.isAssignableFrom(factory.getType())) {
+			throw new DependencyNotResolvedException("Type is not a subclass of class '" + cls.getName() + "'");
+		}
+
+		this.register(cls, new LazyDependency(factory, this, session), TypeDescriptor.of(factory.getType()).getTypes());
+	}
+
+	private void register(Class<?> cls, Object instance, List<Class<?>> types) {
+		synchronized (this.lock) {
+			// frozen: copy-on-write
+			if(this.snapshot != null) {
+				this.snapshot = this.snapshot.with(cls, instance, types);
+				return;
+			}
+
+			this.exactDependencies.computeIfAbsent(cls, c -> new ArrayList<>()).add(instance);
+			for (Class<?> type : types) {
+				this.assignableDependencies.computeIfAbsent(type, c -> new ArrayList<>()).add(instance);
+			}
+		}
+	}
+
+	/*
+	 * Remover
+	 */
+
+	/**
+	 * remove every instance and lazy type defined by class-loader (e.g. of an uninstalled module)
+	 * 
+	 * lazy types are removed without construction, instances holding removed instances are not touched!
+	 * 
+	 * @param classLoader {@link ClassLoader}
+	 * @return {@link Integer} count of removed registrations
+	 */
+	public int removeDependencies(ClassLoader classLoader) {
+		Predicate<Object> removed = instance -> LazyDependency.typeOf(instance).getClassLoader() == classLoader;
+		int count;
+
+		synchronized (this.lock) {
+			if(this.snapshot != null) {
+				// frozen: copy-on-write
+				DependencySnapshot snapshot = this.snapshot.without(removed);
+				count = this.snapshot.size() - snapshot.size();
+				this.snapshot = snapshot;
+			} else {
+				count = 0;
+				for (ArrayList<Object> instances : this.exactDependencies.values()) {
+					int size = instances.size();
+					instances.removeIf(removed);
+					count += size - instances.size();
+				}
+				this.exactDependencies.values().removeIf(List::isEmpty);
+				this.assignableDependencies.values().forEach(instances -> instances.removeIf(removed));
+				this.assignableDependencies.values().removeIf(List::isEmpty);
+			}
+		}
+
+		this.classCache.values().removeIf(cls -> cls.getClassLoader() == classLoader);
+		return count;
+	}
+
+	/**
+	 * freeze container into an immutable snapshot (end of boot)
+	 * 
+	 * later registrations are still possible, but copy the whole snapshot (slow!)
+	 */
+	public void freeze() {
+		synchronized (this.lock) {
+			if(this.snapshot != null) {
+				return;
+			}
+
+			this.snapshot = new DependencySnapshot(this.exactDependencies, this.assignableDependencies);
+			this.exactDependencies = null;
+			this.assignableDependencies = null;
+		}
+	}
+
+	/**
+	 * container frozen?
+	 * 
+	 * @return {@link Boolean}
+	 */
+	public boolean isFrozen() {
+		return this.snapshot != null;
+	}
+
+	/*
+	 * Scopes
+	 */
+
+	/**
+	 * create child container (e.g. per request): own bindings & session dependencies, everything else of this container
+	 * 
+	 * cheap (no copy), thread-safe; the container should be frozen before
+	 * 
+	 * @return {@link IDependencyScope}
+	 */
+	public IDependencyScope createScope() {
+		return new ScopedDependencyContainer(this, this);
 	}
 
-	
 	/*
 	 * Instance-Specific Dependencies
 	 */
@@ -174,20 +477,22 @@ public class DependencyContainer implements IDependencyContainer {
 	/**
 	 * clean & set instance-specific dependencies
 	 * 
+	 * global for every thread, use {@link #createScope()} for concurrent sessions/requests
+	 * 
 	 * @param map HashMap<DependencyType, Object>
 	 */
 	public void setSessionDependencies(HashMap<DependencyType, Object> map) {
-		this.cleanSessionDependencies();
-		for (Entry<DependencyType, Object> entry : map.entrySet()) {
-			this.instanceDependencies.put(entry.getKey(), entry.getValue());
-		}
+		// never modify the published map, replace it
+		EnumMap<DependencyType, Object> dependencies = new EnumMap<>(DependencyType.class);
+		dependencies.putAll(map);
+		this.instanceDependencies = Collections.unmodifiableMap(dependencies);
 	}
 
 	/**
 	 * Clean instance-specific dependencies
 	 */
 	public void cleanSessionDependencies() {
-		this.instanceDependencies = new HashMap<>();
+		this.instanceDependencies = Collections.emptyMap();
 	}
 
 }
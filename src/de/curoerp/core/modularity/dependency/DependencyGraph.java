@@ -0,0 +1,139 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import de.curoerp.core.logging.LoggingService;
+import de.curoerp.core.modularity.exception.DependencyCycleException;
+import de.curoerp.core.modularity.exception.ModuleApiClassNotFoundException;
+
+/**
+ * Dependency graph of resolvable types
+ * 
+ * every node is reachable by its type, superclasses, interfaces;
+ * edges point from a provider to its dependents
+ * 
+ * @category Dependency loading System
+ */
+public class DependencyGraph {
+
+	private final ArrayList<DependencyNode> nodes = new ArrayList<>();
+	private final HashMap<Class<?>, ArrayList<DependencyNode>> providers = new HashMap<>();
+	private final HashMap<Class<?>, DependencyNode> apis = new HashMap<>();
+
+	/**
+	 * add node and index every type it provides
+	 * 
+	 * @param node {@link DependencyNode}
+	 * 
+	 * @throws ModuleApiClassNotFoundException => api already used by another node
+	 */
+	public void add(DependencyNode node) throws ModuleApiClassNotFoundException {
+		if(node.getApi() != null) {
+			DependencyNode other = this.apis.putIfAbsent(node.getApi(), node);
+			if(other != null) {
+				LoggingService.error("api '" + node.getApi().getName() + "' allready used by " + other);
+				throw new ModuleApiClassNotFoundException();
+			}
+		}
+
+		node.index = this.nodes.size();
+		this.nodes.add(node);
+
+		for (Class<?> type : TypeDescriptor.of(node.getType()).getTypes()) {
+			this.providers.computeIfAbsent(type, c -> new ArrayList<>(1)).add(node);
+		}
+	}
+
+	/**
+	 * every node which provides cls
+	 * 
+	 * @param cls Class<?>
+	 * @return {@link List} of {@link DependencyNode}, empty if none
+	 */
+	public List<DependencyNode> findProviders(Class<?> cls) {
+		ArrayList<DependencyNode> providers = this.providers.get(cls);
+		return providers == null ? Collections.emptyList() : providers;
+	}
+
+	public List<DependencyNode> getNodes() {
+		return this.nodes;
+	}
+
+	/**
+	 * topological order (Kahn), every node after all of its dependencies - O(V+E)
+	 * 
+	 * @return {@link List} of {@link DependencyNode}
+	 * 
+	 * @throws DependencyCycleException => at least one cycle, contains the path
+	 */
+	public List<DependencyNode> sort() throws DependencyCycleException {
+		int[] pending = new int[this.nodes.size()];
+		ArrayDeque<DependencyNode> ready = new ArrayDeque<>();
+
+		for (DependencyNode node : this.nodes) {
+			pending[node.index] = node.getDependencyCount();
+			if(pending[node.index] == 0) {
+				ready.add(node);
+			}
+		}
+
+		ArrayList<DependencyNode> order = new ArrayList<>(this.nodes.size());
+		while(!ready.isEmpty()) {
+			DependencyNode node = ready.poll();
+			order.add(node);
+
+			for (DependencyNode dependent : node.getDependents()) {
+				if(--pending[dependent.index] == 0) {
+					ready.add(dependent);
+				}
+			}
+		}
+
+		if(order.size() < this.nodes.size()) {
+			throw new DependencyCycleException(this.findCycle(pending));
+		}
+
+		return order;
+	}
+
+	/**
+	 * find one cycle in remaining nodes (pending > 0)
+	 * every remaining node has at least one remaining dependency, so just walk
+	 * 
+	 * @param pending int[] remaining dependencies per node
+	 * @return {@link String} cycle path
+	 */
+	private String findCycle(int[] pending) {
+		int[] visited = new int[this.nodes.size()];
+		ArrayList<DependencyNode> path = new ArrayList<>();
+
+		DependencyNode current = this.nodes.stream().filter(n -> pending[n.index] > 0).findFirst().get();
+		while(visited[current.index] == 0) {
+			path.add(current);
+			visited[current.index] = path.size();
+
+			for (DependencyNode dependency : current.getDependencies()) {
+				if(pending[dependency.index] > 0) {
+					current = dependency;
+					break;
+				}
+			}
+		}
+
+		// cut path before cycle start, close cycle
+		List<DependencyNode> cycle = new ArrayList<>(path.subList(visited[current.index] - 1, path.size()));
+		cycle.add(current);
+
+		StringBuilder builder = new StringBuilder();
+		for (DependencyNode node : cycle) {
+			builder.append(builder.length() > 0 ? " -> " : "");
+			builder.append(node);
+		}
+		return builder.toString();
+	}
+
+}
@@ -1,6 +1,84 @@
-package de.curoerp.core.modularity.dependency;
-
-public class DependencyInfo {
-	public String name;
-	public DependencyLimitation[] limitations;
-}
+package de.curoerp.core.modularity.dependency;
+
+import de.curoerp.core.modularity.module.Module;
+import de.curoerp.core.modularity.versioning.VersionInfo;
+import de.curoerp.core.modularity.versioning.VersionRange;
+
+/**
+ * Dependency of a module (cmod.yml)
+ * 
+ * compiled once (see {@link #compile()}): interned system-name and one version-range of every limitation
+ * 
+ * @category Dependency loading System
+ */
+public class DependencyInfo {
+	public String name;
+	public DependencyLimitation[] limitations;
+
+	private String systemName;
+	private VersionRange range = VersionRange.ALL;
+
+	/**
+	 * compile system-name & limitations, again after every change of name or limitations
+	 * 
+	 * @return {@link DependencyInfo} this
+	 */
+	public DependencyInfo compile() {
+		this.systemName = Module.parseSystemName(this.name).intern();
+
+		VersionRange range = VersionRange.ALL;
+		if(this.limitations != null) {
+			for (DependencyLimitation limitation : this.limitations) {
+				range = range.intersect(limitation.toRange());
+			}
+		}
+		this.range = range;
+
+		return this;
+	}
+
+	/**
+	 * system-name of required module
+	 * 
+	 * @return {@link String} interned
+	 */
+	public String getSystemName() {
+		return this.systemName;
+	}
+
+	/**
+	 * every version of required module matching all limitations
+	 * 
+	 * @return {@link VersionRange}
+	 */
+	public VersionRange getRange() {
+		return this.range;
+	}
+
+	/**
+	 * version of required module matches every limitation
+	 * 
+	 * @param version {@link VersionInfo}
+	 * @return {@link Boolean}
+	 */
+	public boolean matches(VersionInfo version) {
+		return this.range.contains(version.getVersionNumeric());
+	}
+
+	/**
+	 * first limitation not matching version (error message)
+	 * 
+	 * @param version {@link VersionInfo}
+	 * @return {@link DependencyLimitation} or null
+	 */
+	public DependencyLimitation findUnmatched(VersionInfo version) {
+		if(this.limitations != null) {
+			for (DependencyLimitation limitation : this.limitations) {
+				if(!limitation.toRange().contains(version.getVersionNumeric())) {
+					return limitation;
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -1,9 +1,34 @@
-package de.curoerp.core.modularity.dependency;
-
-import de.curoerp.core.modularity.versioning.VersionExpression;
-import de.curoerp.core.modularity.versioning.VersionInfo;
-
-public class DependencyLimitation {
-	public VersionInfo version;
-	public VersionExpression expression;
-}
+package de.curoerp.core.modularity.dependency;
+
+import de.curoerp.core.modularity.exception.ModuleVersionStringInvalidException;
+import de.curoerp.core.modularity.versioning.VersionRange;
+import de.curoerp.core.modularity.versioning.VersionService;
+
+public class DependencyLimitation {
+	public final String pattern;
+	private final VersionRange range;
+
+	/**
+	 * @param pattern {@link String} version-limitation, e.g. >=1.2.0, ^1.2, 1.x, 1.0 - 2.0 (see {@link VersionService#parseRange(String)})
+	 * 
+	 * @throws ModuleVersionStringInvalidException
+	 */
+	public DependencyLimitation(String pattern) throws ModuleVersionStringInvalidException {
+		this.pattern = pattern.trim();
+		this.range = VersionService.parseRange(this.pattern);
+	}
+
+	/**
+	 * compiled limitation: every version of the required module matching the pattern
+	 * 
+	 * @return {@link VersionRange}
+	 */
+	public VersionRange toRange() {
+		return this.range;
+	}
+
+	@Override
+	public String toString() {
+		return this.pattern;
+	}
+}
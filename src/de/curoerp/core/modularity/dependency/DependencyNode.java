@@ -0,0 +1,128 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import de.curoerp.core.modularity.DependencyType;
+import de.curoerp.core.modularity.module.Module;
+import de.curoerp.core.modularity.module.TypeInfo;
+
+/**
+ * Node of the {@link DependencyGraph}: one resolvable type
+ * 
+ * @category Dependency loading System
+ */
+public class DependencyNode {
+
+	private final Module module;
+	private final TypeInfo typeInfo;
+	private final TypeFactory factory;
+	private final Class<?> api;
+	private final HashMap<DependencyType, Object> session;
+
+	private final LinkedHashSet<DependencyNode> dependencies = new LinkedHashSet<>();
+	private final ArrayList<DependencyNode> dependents = new ArrayList<>();
+	int index = -1;
+
+	/**
+	 * @param module {@link Module} owner, null for types without module
+	 * @param typeInfo {@link TypeInfo}
+	 * @param factory {@link TypeFactory} compiled type
+	 * @param api Class<?> resolved api or null
+	 * @param session {@link HashMap} session dependencies of the module, null for types without module
+	 */
+	public DependencyNode(Module module, TypeInfo typeInfo, TypeFactory factory, Class<?> api, HashMap<DependencyType, Object> session) {
+		this.module = module;
+		this.typeInfo = typeInfo;
+		this.factory = factory;
+		this.api = api;
+		this.session = session;
+	}
+
+	public Module getModule() {
+		return this.module;
+	}
+
+	public TypeInfo getTypeInfo() {
+		return this.typeInfo;
+	}
+
+	public Class<?> getType() {
+		return this.factory.getType();
+	}
+
+	/**
+	 * construct on first lookup? type setting (cmod.yml) first, then module default
+	 * 
+	 * @return {@link Boolean}
+	 */
+	public boolean isLazy() {
+		if(this.typeInfo.lazy != null) {
+			return this.typeInfo.lazy;
+		}
+		return this.module != null && this.module.isLazy();
+	}
+
+	public TypeFactory getFactory() {
+		return this.factory;
+	}
+
+	public Class<?> getApi() {
+		return this.api;
+	}
+
+	public Class<?>[] getParameters() {
+		return this.factory.getParameters();
+	}
+
+	public ParameterBinding[] getBindings() {
+		return this.factory.getBindings();
+	}
+
+	public HashMap<DependencyType, Object> getSession() {
+		return this.session;
+	}
+
+	/**
+	 * this node can only be constructed after other
+	 * 
+	 * @param other {@link DependencyNode}
+	 */
+	public void dependOn(DependencyNode other) {
+		if(this.dependencies.add(other)) {
+			other.dependents.add(this);
+		}
+	}
+
+	public List<DependencyNode> getDependents() {
+		return this.dependents;
+	}
+
+	/**
+	 * position in graph
+	 * 
+	 * @return int
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
+	public int getDependencyCount() {
+		return this.dependencies.size();
+	}
+
+	public Iterable<DependencyNode> getDependencies() {
+		return this.dependencies;
+	}
+
+	@Override
+	public String toString() {
+		if(this.module == null) {
+			return this.getType().getName();
+		}
+		return this.getType().getName() + " [" + this.module.getDisplayName() + "]";
+	}
+
+}
@@ -0,0 +1,42 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.util.function.Supplier;
+
+import de.curoerp.core.exception.RuntimeTroubleException;
+import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
+
+/**
+ * Injected {@link Supplier}&lt;T&gt;: looks up the single instance of T on every get() (lock-free after freeze),
+ * never cached => a provider replaced by hot-deploy is found
+ * 
+ * @category Dependency loading System
+ */
+final class DependencyProvider implements Supplier<Object> {
+
+	private final IDependencyContainer container;
+	private final Class<?> type;
+
+	DependencyProvider(IDependencyContainer container, Class<?> type) {
+		this.container = container;
+		this.type = type;
+	}
+
+	/**
+	 * @return Object single instance of type
+	 * @throws RuntimeTroubleException => not resolved (yet)
+	 */
+	@Override
+	public Object get() {
+		try {
+			return this.container.findSingleInstanceOf(this.type);
+		} catch (DependencyNotResolvedException e) {
+			throw new RuntimeTroubleException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Supplier<" + this.type.getName() + ">";
+	}
+
+}
@@ -0,0 +1,150 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Immutable state of a frozen {@link DependencyContainer}
+ * 
+ * Never modified after construction, every change creates a new snapshot (copy-on-write).
+ * 
+ * @category Dependency loading System
+ */
+final class DependencySnapshot {
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private final HashMap<Class<?>, Object[]> exactDependencies;
+	private final HashMap<Class<?>, Object[]> assignableDependencies;
+
+	// built lists (see DependencyContainer#findInstanceListOf), valid as long as this snapshot
+	private final ConcurrentHashMap<Class<?>, List<Object>> lists = new ConcurrentHashMap<>();
+
+	DependencySnapshot(Map<Class<?>, ? extends List<Object>> exact, Map<Class<?>, ? extends List<Object>> assignable) {
+		this.exactDependencies = DependencySnapshot.copy(exact);
+		this.assignableDependencies = DependencySnapshot.copy(assignable);
+	}
+
+	private DependencySnapshot(HashMap<Class<?>, Object[]> exact, HashMap<Class<?>, Object[]> assignable) {
+		this.exactDependencies = exact;
+		this.assignableDependencies = assignable;
+	}
+
+	private static HashMap<Class<?>, Object[]> copy(Map<Class<?>, ? extends List<Object>> map) {
+		HashMap<Class<?>, Object[]> copy = new HashMap<>(map.size() * 4 / 3 + 1);
+		for (Entry<Class<?>, ? extends List<Object>> entry : map.entrySet()) {
+			copy.put(entry.getKey(), entry.getValue().toArray());
+		}
+		return copy;
+	}
+
+	/**
+	 * instances registered exactly as cls
+	 * 
+	 * @param cls Class<?>
+	 * @return Object[] (shared, never modify!) or null
+	 */
+	Object[] findExact(Class<?> cls) {
+		return this.exactDependencies.get(cls);
+	}
+
+	/**
+	 * instances assignable to cls
+	 * 
+	 * @param cls Class<?>
+	 * @return Object[] (shared, never modify!) or null
+	 */
+	Object[] findAssignable(Class<?> cls) {
+		return this.assignableDependencies.get(cls);
+	}
+
+	/**
+	 * cached list of instances assignable to cls
+	 * 
+	 * @param cls Class<?>
+	 * @return {@link List} or null
+	 */
+	List<Object> findList(Class<?> cls) {
+		return this.lists.get(cls);
+	}
+
+	/**
+	 * cache list, first one wins
+	 * 
+	 * @param cls Class<?>
+	 * @param list {@link List} immutable
+	 * @return {@link List} cached list
+	 */
+	List<Object> cacheList(Class<?> cls, List<Object> list) {
+		List<Object> cached = this.lists.putIfAbsent(cls, list);
+		return cached != null ? cached : list;
+	}
+
+	/**
+	 * copy-on-write: new snapshot with an additional instance
+	 * 
+	 * @param cls Class<?> registered class
+	 * @param instance Object
+	 * @param types every class/interface of the instance
+	 * @return {@link DependencySnapshot}
+	 */
+	DependencySnapshot with(Class<?> cls, Object instance, Collection<Class<?>> types) {
+		HashMap<Class<?>, Object[]> exact = new HashMap<>(this.exactDependencies);
+		DependencySnapshot.append(exact, cls, instance);
+
+		HashMap<Class<?>, Object[]> assignable = new HashMap<>(this.assignableDependencies);
+		for (Class<?> type : types) {
+			DependencySnapshot.append(assignable, type, instance);
+		}
+
+		return new DependencySnapshot(exact, assignable);
+	}
+
+	/**
+	 * copy-on-write: new snapshot without every matching instance, empty types are dropped
+	 * 
+	 * @param removed {@link Predicate} instance (or lazy recipe) to remove
+	 * @return {@link DependencySnapshot}
+	 */
+	DependencySnapshot without(Predicate<Object> removed) {
+		return new DependencySnapshot(DependencySnapshot.filter(this.exactDependencies, removed), DependencySnapshot.filter(this.assignableDependencies, removed));
+	}
+
+	/**
+	 * count of registrations
+	 * 
+	 * @return {@link Integer}
+	 */
+	int size() {
+		int size = 0;
+		for (Object[] instances : this.exactDependencies.values()) {
+			size += instances.length;
+		}
+		return size;
+	}
+
+	private static HashMap<Class<?>, Object[]> filter(HashMap<Class<?>, Object[]> map, Predicate<Object> removed) {
+		HashMap<Class<?>, Object[]> copy = new HashMap<>(map.size() * 4 / 3 + 1);
+		for (Entry<Class<?>, Object[]> entry : map.entrySet()) {
+			Object[] instances = Arrays.stream(entry.getValue()).filter(removed.negate()).toArray();
+			if(instances.length > 0) {
+				copy.put(entry.getKey(), instances.length == entry.getValue().length ? entry.getValue() : instances);
+			}
+		}
+		return copy;
+	}
+
+	private static void append(HashMap<Class<?>, Object[]> map, Class<?> cls, Object instance) {
+		Object[] instances = map.getOrDefault(cls, EMPTY);
+		instances = Arrays.copyOf(instances, instances.length + 1);
+		instances[instances.length - 1] = instance;
+		map.put(cls, instances);
+	}
+
+}
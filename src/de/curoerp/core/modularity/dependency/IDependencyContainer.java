@@ -1,16 +1,41 @@
 package de.curoerp.core.modularity.dependency;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import de.curoerp.core.modularity.DependencyType;
 import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
 
 public interface IDependencyContainer {
+
+	/**
+	 * result of {@link #lookupSingleInstanceOf(Class)}: more than 1 dependency
+	 */
+	public static final Object AMBIGUOUS = new Object() {
+		@Override
+		public String toString() {
+			return "more than 1 dependency";
+		}
+	};
+
 	public Object findSingleInstanceOf(Class<?> cls) throws DependencyNotResolvedException;
 	public Object findSingleInstanceOf(String fqcn) throws DependencyNotResolvedException;
+	public Object tryFindSingleInstanceOf(Class<?> cls);
+	public Object lookupSingleInstanceOf(Class<?> cls);
+	public boolean contains(Class<?> cls);
+	public int countInstancesOf(Class<?> cls);
+	public List<Class<?>> findTypesOf(Class<?> cls);
 	public Object[] findInstancesOf(Class<?> cls) throws DependencyNotResolvedException;
 	public Object[]findInstancesOf(String fqcn) throws DependencyNotResolvedException;
+	public List<Object> findInstanceListOf(Class<?> cls);
 	public void addResolvedDependency(Class<?> cls, Object instance) throws DependencyNotResolvedException;
+	public void addLazyDependency(Class<?> cls, TypeFactory factory, Map<DependencyType, Object> session) throws DependencyNotResolvedException;
 	public void setSessionDependencies(HashMap<DependencyType, Object> map);
 	public void cleanSessionDependencies();
+	public int removeDependencies(ClassLoader classLoader);
+	public void freeze();
+	public void setClassLoader(ClassLoader classLoader);
+	public IDependencyScope createScope();
+	public boolean isFrozen();
 }
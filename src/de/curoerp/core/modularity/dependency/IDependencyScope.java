@@ -0,0 +1,15 @@
+package de.curoerp.core.modularity.dependency;
+
+import de.curoerp.core.modularity.exception.ModuleCanNotBootedException;
+import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
+
+/**
+ * Child container (e.g. per request): own bindings first, everything else of the parent
+ * 
+ * @category Dependency loading System
+ */
+public interface IDependencyScope extends IDependencyContainer, AutoCloseable {
+	public Object newInstance(Class<?> type) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException;
+	public IDependencyContainer getParent();
+	public void close();
+}
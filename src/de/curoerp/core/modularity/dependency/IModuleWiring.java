@@ -0,0 +1,35 @@
+package de.curoerp.core.modularity.dependency;
+
+/**
+ * Static wiring of a module, generated at build-time by the wiring processor
+ * 
+ * if present in a module-jar, the types are resolved without reflective discovery
+ * 
+ * @category Dependency loading System
+ */
+public interface IModuleWiring {
+
+	public final static String PACKAGE = "de.curoerp.wiring";
+
+	/**
+	 * every type of cmod.yml (typeInfos), same order
+	 * 
+	 * @return {@link TypeWiring}[]
+	 */
+	public TypeWiring[] getTypes();
+
+	/**
+	 * full qualified class name of the generated wiring of a module
+	 * 
+	 * @param moduleName {@link String} module name (cmod.yml)
+	 * @return {@link String}
+	 */
+	public static String getClassName(String moduleName) {
+		StringBuilder builder = new StringBuilder(PACKAGE).append(".Wiring_");
+		for (char c : moduleName.toLowerCase().trim().toCharArray()) {
+			builder.append(Character.isJavaIdentifierPart(c) ? c : '_');
+		}
+		return builder.toString();
+	}
+
+}
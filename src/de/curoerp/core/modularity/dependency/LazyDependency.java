@@ -0,0 +1,88 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.util.Map;
+
+import de.curoerp.core.exception.RuntimeTroubleException;
+import de.curoerp.core.logging.LoggingService;
+import de.curoerp.core.modularity.DependencyType;
+import de.curoerp.core.modularity.exception.ModuleCanNotBootedException;
+import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
+
+/**
+ * Recipe of a lazy type: registered in the {@link DependencyContainer} instead of the instance,
+ * constructed once on first lookup (thread-safe)
+ * 
+ * @category Dependency loading System
+ */
+final class LazyDependency {
+
+	private final TypeFactory factory;
+	private final IDependencyContainer container;
+	private final Map<DependencyType, Object> session;
+
+	private volatile Object instance = null;
+
+	LazyDependency(TypeFactory factory, IDependencyContainer container, Map<DependencyType, Object> session) {
+		this.factory = factory;
+		this.container = container;
+		this.session = session;
+	}
+
+	/**
+	 * get instance, construct on first call
+	 * 
+	 * @return Object
+	 * @throws RuntimeTroubleException => construction failed
+	 */
+	Object get() {
+		Object obj = this.instance;
+		if(obj != null) {
+			return obj;
+		}
+
+		synchronized (this) {
+			obj = this.instance;
+			if(obj == null) {
+				try {
+					obj = this.factory.newInstance(this.container, this.session);
+				} catch (ModuleDependencyUnresolvableException | ModuleCanNotBootedException e) {
+					throw new RuntimeTroubleException(e);
+				}
+				this.instance = obj;
+				LoggingService.info("# '{}' activated (lazy)", this.factory.getType().getName());
+			}
+		}
+
+		return obj;
+	}
+
+	/**
+	 * type of recipe (not constructed)
+	 * 
+	 * @return Class<?>
+	 */
+	Class<?> getType() {
+		return this.factory.getType();
+	}
+
+	/**
+	 * type of instance or recipe, without construction
+	 * 
+	 * @param obj instance or {@link LazyDependency}
+	 * @return Class<?>
+	 */
+	static Class<?> typeOf(Object obj) {
+		return obj instanceof LazyDependency ? ((LazyDependency) obj).getType() : obj.getClass();
+	}
+
+	/**
+	 * unwrap lazy instance
+	 * 
+	 * @param obj instance or {@link LazyDependency}
+	 * @return Object instance
+	 */
+	static Object unwrap(Object obj) {
+		return obj instanceof LazyDependency ? ((LazyDependency) obj).get() : obj;
+	}
+
+}
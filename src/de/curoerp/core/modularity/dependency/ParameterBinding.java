@@ -0,0 +1,176 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import de.curoerp.core.modularity.DependencyType;
+import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
+
+/**
+ * Pre-resolved binding of one constructor parameter
+ * 
+ * the kind of a parameter (container, session dependency, instance, provider, collection) is decided once while compiling
+ * 
+ * @category Dependency loading System
+ */
+public final class ParameterBinding {
+
+	/**
+	 * Kind of injection
+	 */
+	public enum Kind {
+		/**
+		 * single instance of type
+		 */
+		INSTANCE,
+		/**
+		 * {@link Supplier}&lt;T&gt;: single instance of element, looked up on every get() (follows replaced modules)
+		 */
+		SUPPLIER,
+		/**
+		 * {@link List}&lt;T&gt; or {@link Iterable}&lt;T&gt;: every instance of element (immutable, cached)
+		 */
+		LIST
+	}
+
+	private final Class<?> type;
+	private final Kind kind;
+	private final Class<?> element;
+	private final boolean isContainer;
+	private final DependencyType special;
+
+	private ParameterBinding(Class<?> type, Kind kind, Class<?> element) {
+		this.type = type;
+		this.kind = kind;
+		this.element = element;
+		this.isContainer = element == IDependencyContainer.class;
+
+		this.special = TypeDescriptor.of(element).getSpecial();
+	}
+
+	static ParameterBinding of(Class<?> type) {
+		return new ParameterBinding(type, Kind.INSTANCE, type);
+	}
+
+	/**
+	 * binding of parameter with generic type (Supplier&lt;T&gt;, List&lt;T&gt;, Iterable&lt;T&gt;)
+	 * 
+	 * @param type Class<?> raw type
+	 * @param generic {@link Type} generic type, null => raw type
+	 * @return {@link ParameterBinding}
+	 */
+	static ParameterBinding of(Class<?> type, Type generic) {
+		if(!(generic instanceof ParameterizedType)) {
+			return ParameterBinding.of(type);
+		}
+
+		Type argument = ((ParameterizedType) generic).getActualTypeArguments()[0];
+		if(argument instanceof ParameterizedType) {
+			argument = ((ParameterizedType) argument).getRawType();
+		}
+		if(!(argument instanceof Class)) {
+			// wildcard, type variable => not resolvable as element
+			return ParameterBinding.of(type);
+		}
+
+		return ParameterBinding.of(type, (Class<?>) argument);
+	}
+
+	/**
+	 * binding of parameter with known element type (generated wiring)
+	 * 
+	 * @param type Class<?> raw type
+	 * @param element Class<?> type argument, null => raw type
+	 * @return {@link ParameterBinding}
+	 */
+	static ParameterBinding of(Class<?> type, Class<?> element) {
+		if(element == null) {
+			return ParameterBinding.of(type);
+		}
+		if(type == Supplier.class) {
+			return new ParameterBinding(type, Kind.SUPPLIER, element);
+		}
+		if(type == List.class || type == Iterable.class) {
+			return new ParameterBinding(type, Kind.LIST, element);
+		}
+		return ParameterBinding.of(type);
+	}
+
+	/**
+	 * parameter type
+	 * 
+	 * @return Class<?>
+	 */
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	public Kind getKind() {
+		return this.kind;
+	}
+
+	/**
+	 * looked up type: parameter type, or type argument of {@link Kind#SUPPLIER}/{@link Kind#LIST}
+	 * 
+	 * @return Class<?>
+	 */
+	public Class<?> getElement() {
+		return this.element;
+	}
+
+	/**
+	 * resolve parameter value
+	 * 
+	 * @param container {@link IDependencyContainer}
+	 * @param session {@link Map} session dependencies of the module or null (=> container)
+	 * @return Object
+	 * 
+	 * @throws ModuleDependencyUnresolvableException
+	 */
+	public Object resolve(IDependencyContainer container, Map<DependencyType, Object> session) throws ModuleDependencyUnresolvableException {
+		switch (this.kind) {
+		case LIST:
+			// session of module first, like single instances
+			if(this.special != null && session != null && session.containsKey(this.special)) {
+				return Collections.singletonList(session.get(this.special));
+			}
+			return container.findInstanceListOf(this.element);
+
+		case SUPPLIER:
+			if(this.special != null && session != null && session.containsKey(this.special)) {
+				Object obj = session.get(this.special);
+				return (Supplier<Object>) () -> obj;
+			}
+			return new DependencyProvider(container, this.element);
+
+		default:
+			break;
+		}
+
+		// special: container
+		if(this.isContainer) {
+			return container;
+		}
+
+		// session of module
+		if(this.special != null && session != null && session.containsKey(this.special)) {
+			return session.get(this.special);
+		}
+
+		// find direct or in Superclases&Co.
+		Object obj = container.lookupSingleInstanceOf(this.type);
+		if(obj == IDependencyContainer.AMBIGUOUS) {
+			throw new ModuleDependencyUnresolvableException(this.type.getName() + " (" + IDependencyContainer.AMBIGUOUS + ")");
+		}
+		if(obj != null) {
+			return obj;
+		}
+
+		throw new ModuleDependencyUnresolvableException(this.type.getName());
+	}
+
+}
@@ -0,0 +1,315 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.curoerp.core.logging.LoggingService;
+import de.curoerp.core.modularity.DependencyType;
+import de.curoerp.core.modularity.exception.DependencyNotResolvedException;
+import de.curoerp.core.modularity.exception.ModuleCanNotBootedException;
+import de.curoerp.core.modularity.exception.ModuleControllerClassException;
+import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
+
+/**
+ * Scoped Dependency Container
+ * 
+ * Holds only its own bindings (few, e.g. tenant, user, transaction) in a small copy-on-write array,
+ * every other lookup is delegated to the parent. Own bindings shadow the parent.
+ * Session dependencies are scope-local, the parent is never modified (global state of the root can't be changed by a scope).
+ * 
+ * @category Dependency loading System
+ */
+public class ScopedDependencyContainer implements IDependencyScope {
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private final IDependencyContainer parent;
+	private final DependencyContainer root;
+
+	// [class, instance, class, instance, ...], replaced on every binding
+	private volatile Object[] bindings = EMPTY;
+	private volatile Map<DependencyType, Object> instanceDependencies = Collections.emptyMap();
+	private volatile boolean frozen = false;
+
+	ScopedDependencyContainer(IDependencyContainer parent, DependencyContainer root) {
+		this.parent = parent;
+		this.root = root;
+	}
+
+	public IDependencyContainer getParent() {
+		return this.parent;
+	}
+
+	/*
+	 * Getter, 'Finder'
+	 */
+
+	public Object findSingleInstanceOf(String fqcn) throws DependencyNotResolvedException {
+		return this.findSingleInstanceOf(this.root.findClass(fqcn));
+	}
+
+	public Object findSingleInstanceOf(Class<?> cls) throws DependencyNotResolvedException {
+		Object obj = this.findLocal(cls);
+		if(obj == AMBIGUOUS) {
+			throw new DependencyNotResolvedException("more than 1 dependency of '" + cls.getName() + "' in scope", false);
+		}
+		return obj != null ? obj : this.parent.findSingleInstanceOf(cls);
+	}
+
+	public Object tryFindSingleInstanceOf(Class<?> cls) {
+		Object obj = this.lookupSingleInstanceOf(cls);
+		return obj != AMBIGUOUS ? obj : null;
+	}
+
+	public Object lookupSingleInstanceOf(Class<?> cls) {
+		Object obj = this.findLocal(cls);
+		return obj != null ? obj : this.parent.lookupSingleInstanceOf(cls);
+	}
+
+	public boolean contains(Class<?> cls) {
+		return this.findLocal(cls) != null || this.parent.contains(cls);
+	}
+
+	public int countInstancesOf(Class<?> cls) {
+		Object obj = this.findLocal(cls);
+		if(obj == AMBIGUOUS) {
+			return 2;
+		}
+		return obj != null ? 1 : this.parent.countInstancesOf(cls);
+	}
+
+	public List<Class<?>> findTypesOf(Class<?> cls) {
+		ArrayList<Class<?>> types = new ArrayList<>();
+		if(!TypeDescriptor.of(cls).isNoDependency()) {
+			Object[] bindings = this.bindings;
+			for (int i = 0; i < bindings.length; i += 2) {
+				if(cls.isAssignableFrom((Class<?>) bindings[i])) {
+					types.add(LazyDependency.typeOf(bindings[i + 1]));
+				}
+			}
+		}
+
+		types.addAll(this.parent.findTypesOf(cls));
+		return types;
+	}
+
+	public Object[] findInstancesOf(String fqcn) throws DependencyNotResolvedException {
+		return this.findInstancesOf(this.root.findClass(fqcn));
+	}
+
+	public Object[] findInstancesOf(Class<?> cls) throws DependencyNotResolvedException {
+		List<Object> local = this.findAllLocal(cls);
+		if(local.isEmpty()) {
+			return this.parent.findInstancesOf(cls);
+		}
+
+		local.addAll(this.parent.findInstanceListOf(cls));
+		return local.toArray();
+	}
+
+	public List<Object> findInstanceListOf(Class<?> cls) {
+		List<Object> local = this.findAllLocal(cls);
+		if(local.isEmpty()) {
+			return this.parent.findInstanceListOf(cls);
+		}
+
+		local.addAll(this.parent.findInstanceListOf(cls));
+		return Collections.unmodifiableList(local);
+	}
+
+	/**
+	 * own single instance: container, session, exact binding, assignable binding (same rules as {@link DependencyContainer})
+	 * 
+	 * @param cls Class<?>
+	 * @return Object, {@link IDependencyContainer#AMBIGUOUS} if more than 1 binding matches, or null
+	 */
+	private Object findLocal(Class<?> cls) {
+		if(cls == IDependencyContainer.class || cls == IDependencyScope.class) {
+			return this;
+		}
+
+		// annotations (View Github#11): parent reports
+		TypeDescriptor descriptor = TypeDescriptor.of(cls);
+		if(descriptor.isNoDependency()) {
+			return null;
+		}
+
+		if(descriptor.getSpecial() != null) {
+			Object obj = this.instanceDependencies.get(descriptor.getSpecial());
+			if(obj != null) {
+				return obj;
+			}
+		}
+
+		// multi-dependencies only by findInstancesOf
+		if(descriptor.isMultiDependency()) {
+			return null;
+		}
+
+		// exact match first, then parent-classes
+		Object[] bindings = this.bindings;
+		int found = -1;
+		for (int i = 0; i < bindings.length; i += 2) {
+			if(bindings[i] == cls) {
+				if(found >= 0) {
+					return AMBIGUOUS;
+				}
+				found = i;
+			}
+		}
+		if(found < 0) {
+			for (int i = 0; i < bindings.length; i += 2) {
+				if(cls.isAssignableFrom((Class<?>) bindings[i])) {
+					if(found >= 0) {
+						return AMBIGUOUS;
+					}
+					found = i;
+				}
+			}
+		}
+
+		return found < 0 ? null : LazyDependency.unwrap(bindings[found + 1]);
+	}
+
+	private List<Object> findAllLocal(Class<?> cls) {
+		ArrayList<Object> instances = new ArrayList<>();
+		if(TypeDescriptor.of(cls).isNoDependency()) {
+			return instances;
+		}
+
+		Object[] bindings = this.bindings;
+		for (int i = 0; i < bindings.length; i += 2) {
+			if(cls.isAssignableFrom((Class<?>) bindings[i])) {
+				instances.add(LazyDependency.unwrap(bindings[i + 1]));
+			}
+		}
+
+		return instances;
+	}
+
+	/*
+	 * Adder
+	 */
+
+	public void addResolvedDependency(Class<?> cls, Object instance) throws DependencyNotResolvedException {
+		if(cls == null || instance == null) {
+			throw new DependencyNotResolvedException("null is not an option");
+		}
+		if(!cls.isInstance(instance)) {
+			throw new DependencyNotResolvedException("Object is not a instance of class '" + cls.getName() + "'");
+		}
+
+		this.bind(cls, instance);
+	}
+
+	public void addLazyDependency(Class<?> cls, TypeFactory factory, Map<DependencyType, Object> session) throws DependencyNotResolvedException {
+		if(cls == null || factory == null) {
+			throw new DependencyNotResolvedException("null is not an option");
+		}
+		if(!cls.isAssignableFrom(factory.getType())) {
+			throw new DependencyNotResolvedException("Type is not a subclass of class '" + cls.getName() + "'");
+		}
+
+		this.bind(cls, new LazyDependency(factory, this, session));
+	}
+
+	private synchronized void bind(Class<?> cls, Object instance) throws DependencyNotResolvedException {
+		if(this.frozen) {
+			throw new DependencyNotResolvedException("scope is frozen or closed", false);
+		}
+
+		Object[] bindings = new Object[this.bindings.length + 2];
+		System.arraycopy(this.bindings, 0, bindings, 0, this.bindings.length);
+		bindings[bindings.length - 2] = cls;
+		bindings[bindings.length - 1] = instance;
+		this.bindings = bindings;
+	}
+
+	/**
+	 * construct new instance of type, parameters are resolved by this scope
+	 * 
+	 * @param type Class<?> (0 or 1 public constructor)
+	 * @return Object, not registered
+	 * 
+	 * @throws ModuleCanNotBootedException => not constructable
+	 * @throws ModuleDependencyUnresolvableException => parameter not resolvable
+	 */
+	public Object newInstance(Class<?> type) throws ModuleCanNotBootedException, ModuleDependencyUnresolvableException {
+		try {
+			return TypeDescriptor.of(type).getFactory().newInstance(this, this.instanceDependencies);
+		} catch (ModuleControllerClassException e) {
+			LoggingService.debug(e);
+			throw new ModuleCanNotBootedException(new String[] {
+					type.getName()
+			});
+		}
+	}
+
+	/**
+	 * child scope of this scope
+	 * 
+	 * @return {@link IDependencyScope}
+	 */
+	public IDependencyScope createScope() {
+		return new ScopedDependencyContainer(this, this.root);
+	}
+
+	/**
+	 * not in a scope: the class-loader is global state of the root container
+	 * 
+	 * @throws UnsupportedOperationException
+	 */
+	public void setClassLoader(ClassLoader classLoader) {
+		throw new UnsupportedOperationException("class-loader can only be set on the root container");
+	}
+
+	/**
+	 * not in a scope: registrations of the root container are global
+	 * 
+	 * @throws UnsupportedOperationException
+	 */
+	public int removeDependencies(ClassLoader classLoader) {
+		throw new UnsupportedOperationException("dependencies can only be removed from the root container");
+	}
+
+	/**
+	 * no more bindings
+	 */
+	public void freeze() {
+		this.frozen = true;
+	}
+
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+
+	/**
+	 * drop every binding, scope can't be used anymore
+	 */
+	public void close() {
+		synchronized (this) {
+			this.frozen = true;
+			this.bindings = EMPTY;
+		}
+		this.instanceDependencies = Collections.emptyMap();
+	}
+
+	/*
+	 * Instance-Specific Dependencies (only this scope)
+	 */
+
+	public void setSessionDependencies(HashMap<DependencyType, Object> map) {
+		EnumMap<DependencyType, Object> dependencies = new EnumMap<>(DependencyType.class);
+		dependencies.putAll(map);
+		this.instanceDependencies = Collections.unmodifiableMap(dependencies);
+	}
+
+	public void cleanSessionDependencies() {
+		this.instanceDependencies = Collections.emptyMap();
+	}
+
+}
@@ -0,0 +1,173 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import de.curoerp.core.modularity.DependencyType;
+import de.curoerp.core.modularity.SpecialDependency;
+import de.curoerp.core.modularity.annotations.CuroMultiDependency;
+import de.curoerp.core.modularity.annotations.CuroNoDependency;
+import de.curoerp.core.modularity.exception.ModuleControllerClassException;
+
+/**
+ * Metadata of a class (annotations, supertypes, constructors, factory), computed once per class
+ * 
+ * stored in a {@link ClassValue}: the descriptor lives as long as its class,
+ * classes of unloaded modules (class loaders) are never held.
+ * 
+ * @category Dependency loading System
+ */
+public final class TypeDescriptor {
+
+	private static final ClassValue<TypeDescriptor> DESCRIPTORS = new ClassValue<TypeDescriptor>() {
+		@Override
+		protected TypeDescriptor computeValue(Class<?> type) {
+			return new TypeDescriptor(type);
+		}
+	};
+
+	private final Class<?> type;
+	private final boolean noDependency;
+	private final boolean multiDependency;
+	private final DependencyType special;
+	private final Class<?>[] interfaces;
+	private final List<Class<?>> types;
+
+	private volatile Constructor<?>[] constructors = null;
+	private volatile TypeFactory factory = null;
+
+	private TypeDescriptor(Class<?> type) {
+		this.type = type;
+		this.noDependency = type.getAnnotation(CuroNoDependency.class) != null;
+		this.multiDependency = type.getAnnotation(CuroMultiDependency.class) != null;
+
+		SpecialDependency aSpecialDependency = type.getAnnotation(SpecialDependency.class);
+		this.special = aSpecialDependency == null ? null : aSpecialDependency.type();
+
+		// class, every superclass and every (inherited) interface
+		this.interfaces = type.getInterfaces();
+		LinkedHashSet<Class<?>> types = new LinkedHashSet<>();
+		types.add(type);
+		if(type.getSuperclass() != null) {
+			types.addAll(TypeDescriptor.of(type.getSuperclass()).types);
+		}
+		for (Class<?> iface : this.interfaces) {
+			types.addAll(TypeDescriptor.of(iface).types);
+		}
+		this.types = Collections.unmodifiableList(Arrays.asList(types.toArray(new Class<?>[types.size()])));
+	}
+
+	/**
+	 * descriptor of class
+	 * 
+	 * @param type Class<?>
+	 * @return {@link TypeDescriptor}
+	 */
+	public static TypeDescriptor of(Class<?> type) {
+		return DESCRIPTORS.get(type);
+	}
+
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	/**
+	 * annotated with @CuroNoDependency?
+	 * 
+	 * @return {@link Boolean}
+	 */
+	public boolean isNoDependency() {
+		return this.noDependency;
+	}
+
+	/**
+	 * annotated with @CuroMultiDependency?
+	 * 
+	 * @return {@link Boolean}
+	 */
+	public boolean isMultiDependency() {
+		return this.multiDependency;
+	}
+
+	/**
+	 * session dependency type (@SpecialDependency)
+	 * 
+	 * @return {@link DependencyType} or null
+	 */
+	public DependencyType getSpecial() {
+		return this.special;
+	}
+
+	/**
+	 * directly implemented interfaces
+	 * 
+	 * @return Class<?>[] (shared, never modify!)
+	 */
+	public Class<?>[] getInterfaces() {
+		return this.interfaces;
+	}
+
+	/**
+	 * class, every superclass and every (inherited) interface
+	 * 
+	 * @return {@link List} immutable
+	 */
+	public List<Class<?>> getTypes() {
+		return this.types;
+	}
+
+	/**
+	 * public constructors
+	 * 
+	 * @return Constructor<?>[] (shared, never modify!)
+	 */
+	public Constructor<?>[] getConstructors() {
+		Constructor<?>[] constructors = this.constructors;
+		if(constructors == null) {
+			constructors = this.type.getConstructors();
+			this.constructors = constructors;
+		}
+		return constructors;
+	}
+
+	/**
+	 * compiled factory (0 or 1 public constructor), compiled only once
+	 * 
+	 * @return {@link TypeFactory}
+	 * 
+	 * @throws ModuleControllerClassException => the type-class isn't correct (0 or 1 constructor)
+	 */
+	public TypeFactory getFactory() throws ModuleControllerClassException {
+		TypeFactory factory = this.factory;
+		if(factory == null) {
+			factory = TypeFactory.compile(this);
+			this.factory = factory;
+		}
+		return factory;
+	}
+
+	/**
+	 * compiled factory with known constructor parameters (no discovery)
+	 * 
+	 * @param parameters Class<?>[] parameters of the public constructor
+	 * @return {@link TypeFactory}
+	 * 
+	 * @throws ModuleControllerClassException => constructor not found or not accessible
+	 */
+	public TypeFactory getFactory(Class<?>[] parameters) throws ModuleControllerClassException {
+		TypeFactory factory = this.factory;
+		if(factory != null && Arrays.equals(factory.getParameters(), parameters)) {
+			return factory;
+		}
+
+		factory = TypeFactory.compile(this.type, parameters);
+		if(this.factory == null) {
+			this.factory = factory;
+		}
+		return factory;
+	}
+
+}
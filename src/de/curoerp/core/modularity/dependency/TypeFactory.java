@@ -0,0 +1,252 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import de.curoerp.core.logging.LoggingService;
+import de.curoerp.core.modularity.DependencyType;
+import de.curoerp.core.modularity.exception.ModuleCanNotBootedException;
+import de.curoerp.core.modularity.exception.ModuleControllerClassException;
+import de.curoerp.core.modularity.exception.ModuleDependencyUnresolvableException;
+
+/**
+ * Compiled constructor of a resolvable type
+ * 
+ * compiled once per type: constructor handle + parameter bindings,
+ * every construction is a direct invocation (no reflection, no argument-array up to {@value #MAX_DIRECT_ARITY} parameters,
+ * more parameters are passed as Object[])
+ * 
+ * @category Dependency loading System
+ */
+public final class TypeFactory {
+
+	private static final int MAX_DIRECT_ARITY = 6;
+
+	// create(...) of TypeWiring.Constructor0..6, TypeWiring.ArrayConstructor
+	private static final MethodHandle[] WIRING_CREATE = TypeFactory.findWiringCreate(TypeWiring.Constructor0.class, TypeWiring.Constructor1.class, 
+			TypeWiring.Constructor2.class, TypeWiring.Constructor3.class, TypeWiring.Constructor4.class, TypeWiring.Constructor5.class, 
+			TypeWiring.Constructor6.class);
+	private static final MethodHandle WIRING_CREATE_ARRAY = TypeFactory.findWiringCreate(TypeWiring.ArrayConstructor.class)[0];
+
+	private final Class<?> type;
+	private final Class<?>[] parameters;
+	private final ParameterBinding[] bindings;
+	private final MethodHandle constructor;
+
+	/**
+	 * @param constructor {@link MethodHandle} (Object, Object, ...)Object, more than {@value #MAX_DIRECT_ARITY} parameters (Object[])Object
+	 */
+	private TypeFactory(Class<?> type, Class<?>[] parameters, ParameterBinding[] bindings, MethodHandle constructor) {
+		this.type = type;
+		this.parameters = parameters;
+		this.bindings = bindings;
+		this.constructor = constructor;
+	}
+
+	/**
+	 * reflected constructor => (Object, Object, ...)Object, invokeExact without boxing/casting at call site
+	 */
+	private static MethodHandle adapt(MethodHandle constructor, int arity) {
+		MethodHandle generic = constructor.asType(MethodType.genericMethodType(arity));
+		return arity <= MAX_DIRECT_ARITY ? generic : generic.asSpreader(Object[].class, arity);
+	}
+
+	/**
+	 * compile factory of type (0 or 1 public constructor), cached in {@link TypeDescriptor}
+	 * 
+	 * @param type Class<?>
+	 * @return {@link TypeFactory}
+	 * 
+	 * @throws ModuleControllerClassException => more than 1 constructor, or constructor not accessible
+	 */
+	public static TypeFactory compile(Class<?> type) throws ModuleControllerClassException {
+		return TypeDescriptor.of(type).getFactory();
+	}
+
+	static TypeFactory compile(TypeDescriptor descriptor) throws ModuleControllerClassException {
+		Class<?> type = descriptor.getType();
+		Constructor<?>[] constructors;
+		try {
+			constructors = descriptor.getConstructors();
+		} catch (LinkageError e) {
+			// parameter-class not visible (module dependency missing?)
+			LoggingService.error("contructor (" + type.getName() + ") not loadable: " + e.getMessage());
+			throw new ModuleControllerClassException(type.getName());
+		}
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		try {
+			switch (constructors.length) {
+			// no public constructor => default constructor
+			case 0:
+				return new TypeFactory(type, new Class<?>[0], new ParameterBinding[0], TypeFactory.adapt(lookup.findConstructor(type, MethodType.methodType(void.class)), 0));
+
+			// only one constructor
+			case 1:
+				Class<?>[] parameters = constructors[0].getParameterTypes();
+				return new TypeFactory(type, parameters, TypeFactory.bind(parameters, constructors[0].getGenericParameterTypes()), 
+						TypeFactory.adapt(lookup.unreflectConstructor(constructors[0]), parameters.length));
+
+			default:
+				LoggingService.debug("contructor ({}) has more than 1 constructor, throw ModuleControllerClassException", type.getName());
+				throw new ModuleControllerClassException(type.getName());
+			}
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			LoggingService.debug(e);
+			throw new ModuleControllerClassException(type.getName());
+		}
+	}
+
+	/**
+	 * compile factory of type with known constructor parameters (no discovery)
+	 * 
+	 * @param type Class<?>
+	 * @param parameters Class<?>[] parameters of the public constructor
+	 * @return {@link TypeFactory}
+	 * 
+	 * @throws ModuleControllerClassException => constructor not found or not accessible
+	 */
+	public static TypeFactory compile(Class<?> type, Class<?>[] parameters) throws ModuleControllerClassException {
+		try {
+			// generic parameter types: Supplier<T>, List<T>, ...
+			Type[] generics = TypeDescriptor.of(type).getConstructors().length == 0 ? new Type[0] : type.getConstructor(parameters).getGenericParameterTypes();
+			return new TypeFactory(type, parameters, TypeFactory.bind(parameters, generics), 
+					TypeFactory.adapt(MethodHandles.lookup().findConstructor(type, MethodType.methodType(void.class, parameters)), parameters.length));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			LoggingService.debug(e);
+			throw new ModuleControllerClassException(type.getName());
+		}
+	}
+
+	/**
+	 * factory of generated wiring, no reflective discovery
+	 * 
+	 * arity-specific constructor calls (see {@link TypeWiring.Constructor0}) are invoked without argument-array,
+	 * array constructor calls of wirings with few parameters collect their arguments on every construction (regenerate the wiring)
+	 * 
+	 * @param wiring {@link TypeWiring}
+	 * @return {@link TypeFactory}
+	 */
+	public static TypeFactory of(TypeWiring wiring) {
+		int arity = wiring.parameters.length;
+		MethodHandle constructor;
+		if(wiring.constructor instanceof TypeWiring.ArrayConstructor) {
+			constructor = WIRING_CREATE_ARRAY.bindTo(wiring.constructor);
+			if(arity <= MAX_DIRECT_ARITY) {
+				constructor = constructor.asCollector(Object[].class, arity);
+			}
+		} else {
+			constructor = WIRING_CREATE[arity].bindTo(wiring.constructor);
+		}
+
+		ParameterBinding[] bindings = new ParameterBinding[wiring.parameters.length];
+		for (int i = 0; i < bindings.length; i++) {
+			bindings[i] = ParameterBinding.of(wiring.parameters[i], wiring.elements == null ? null : wiring.elements[i]);
+		}
+		return new TypeFactory(wiring.type, wiring.parameters, bindings, constructor);
+	}
+
+	private static ParameterBinding[] bind(Class<?>[] parameters, Type[] generics) {
+		ParameterBinding[] bindings = new ParameterBinding[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			// generic types of inner classes may miss the outer instance
+			bindings[i] = generics.length == parameters.length ? ParameterBinding.of(parameters[i], generics[i]) : ParameterBinding.of(parameters[i]);
+		}
+		return bindings;
+	}
+
+	/**
+	 * create(...) of every functional interface, (Interface, Object, ...)Object
+	 */
+	private static MethodHandle[] findWiringCreate(Class<?>... interfaces) {
+		MethodHandle[] handles = new MethodHandle[interfaces.length];
+		try {
+			for (int i = 0; i < interfaces.length; i++) {
+				Class<?>[] parameters = interfaces[i].getMethods()[0].getParameterTypes();
+				handles[i] = MethodHandles.publicLookup().findVirtual(interfaces[i], "create", MethodType.methodType(Object.class, parameters));
+			}
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+		return handles;
+	}
+
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	/**
+	 * constructor parameters
+	 * 
+	 * @return Class<?>[] (shared, never modify!)
+	 */
+	public Class<?>[] getParameters() {
+		return this.parameters;
+	}
+
+	/**
+	 * parameter bindings
+	 * 
+	 * @return {@link ParameterBinding}[] (shared, never modify!)
+	 */
+	public ParameterBinding[] getBindings() {
+		return this.bindings;
+	}
+
+	/**
+	 * construct new instance, parameters are resolved by bindings
+	 * 
+	 * @param container {@link IDependencyContainer}
+	 * @param session {@link Map} session dependencies of the module or null (=> container)
+	 * @return Object
+	 * 
+	 * @throws ModuleDependencyUnresolvableException => parameter not resolvable
+	 * @throws ModuleCanNotBootedException => constructor failed
+	 */
+	public Object newInstance(IDependencyContainer container, Map<DependencyType, Object> session) throws ModuleDependencyUnresolvableException, ModuleCanNotBootedException {
+		ParameterBinding[] b = this.bindings;
+
+		try {
+			switch (b.length) {
+			case 0:
+				return (Object) this.constructor.invokeExact();
+			case 1:
+				return (Object) this.constructor.invokeExact(b[0].resolve(container, session));
+			case 2:
+				return (Object) this.constructor.invokeExact(b[0].resolve(container, session), b[1].resolve(container, session));
+			case 3:
+				return (Object) this.constructor.invokeExact(b[0].resolve(container, session), b[1].resolve(container, session), 
+						b[2].resolve(container, session));
+			case 4:
+				return (Object) this.constructor.invokeExact(b[0].resolve(container, session), b[1].resolve(container, session), 
+						b[2].resolve(container, session), b[3].resolve(container, session));
+			case 5:
+				return (Object) this.constructor.invokeExact(b[0].resolve(container, session), b[1].resolve(container, session), 
+						b[2].resolve(container, session), b[3].resolve(container, session), b[4].resolve(container, session));
+			case 6:
+				return (Object) this.constructor.invokeExact(b[0].resolve(container, session), b[1].resolve(container, session), 
+						b[2].resolve(container, session), b[3].resolve(container, session), b[4].resolve(container, session), 
+						b[5].resolve(container, session));
+			default:
+				Object[] arguments = new Object[b.length];
+				for (int i = 0; i < b.length; i++) {
+					arguments[i] = b[i].resolve(container, session);
+				}
+				return (Object) this.constructor.invokeExact(arguments);
+			}
+		} catch (ModuleDependencyUnresolvableException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			LoggingService.debug(e instanceof Exception ? (Exception) e : new Exception(e));
+			// fatal error => exit Runtime
+			throw new ModuleCanNotBootedException(new String[] {
+					this.type.getName()
+			});
+		}
+	}
+
+}
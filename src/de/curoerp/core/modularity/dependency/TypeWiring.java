@@ -0,0 +1,138 @@
+package de.curoerp.core.modularity.dependency;
+
+import java.util.function.Function;
+
+/**
+ * Static wiring of one type (generated)
+ *
+ * the constructor call is a lambda of the matching arity (up to 6 parameters, no argument-array),
+ * more parameters are passed as Object[] (see {@link Function} constructors)
+ *
+ * @category Dependency loading System
+ */
+public class TypeWiring {
+
+	/**
+	 * generated constructor call
+	 */
+	public interface Constructor {
+	}
+
+	@FunctionalInterface
+	public interface Constructor0 extends Constructor {
+		Object create();
+	}
+
+	@FunctionalInterface
+	public interface Constructor1 extends Constructor {
+		Object create(Object a0);
+	}
+
+	@FunctionalInterface
+	public interface Constructor2 extends Constructor {
+		Object create(Object a0, Object a1);
+	}
+
+	@FunctionalInterface
+	public interface Constructor3 extends Constructor {
+		Object create(Object a0, Object a1, Object a2);
+	}
+
+	@FunctionalInterface
+	public interface Constructor4 extends Constructor {
+		Object create(Object a0, Object a1, Object a2, Object a3);
+	}
+
+	@FunctionalInterface
+	public interface Constructor5 extends Constructor {
+		Object create(Object a0, Object a1, Object a2, Object a3, Object a4);
+	}
+
+	@FunctionalInterface
+	public interface Constructor6 extends Constructor {
+		Object create(Object a0, Object a1, Object a2, Object a3, Object a4, Object a5);
+	}
+
+	/**
+	 * arguments as array (more than 6 parameters)
+	 */
+	@FunctionalInterface
+	public interface ArrayConstructor extends Constructor {
+		Object create(Object[] arguments);
+	}
+
+	public final Class<?> type;
+	public final Class<?> api;
+	public final Class<?>[] parameters;
+	public final Class<?>[] elements;
+	public final Constructor constructor;
+
+	/**
+	 * @param type Class<?>
+	 * @param api Class<?> or null
+	 * @param parameters Class<?>[] constructor parameters
+	 * @param constructor {@link Function} arguments => new instance
+	 */
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Function<Object[], Object> constructor) {
+		this(type, api, parameters, null, constructor);
+	}
+
+	/**
+	 * @param type Class<?>
+	 * @param api Class<?> or null
+	 * @param parameters Class<?>[] constructor parameters
+	 * @param elements Class<?>[] type arguments of Supplier/List/Iterable parameters (null per parameter without), or null
+	 * @param constructor {@link Function} arguments => new instance
+	 */
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Function<Object[], Object> constructor) {
+		this(type, api, parameters, elements, (ArrayConstructor) constructor::apply, parameters.length);
+	}
+
+	/**
+	 * @param type Class<?>
+	 * @param api Class<?> or null
+	 * @param parameters Class<?>[] constructor parameters
+	 * @param elements Class<?>[] type arguments of Supplier/List/Iterable parameters (null per parameter without), or null
+	 * @param constructor {@link Constructor0} new instance
+	 */
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor0 constructor) {
+		this(type, api, parameters, elements, constructor, 0);
+	}
+
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor1 constructor) {
+		this(type, api, parameters, elements, constructor, 1);
+	}
+
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor2 constructor) {
+		this(type, api, parameters, elements, constructor, 2);
+	}
+
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor3 constructor) {
+		this(type, api, parameters, elements, constructor, 3);
+	}
+
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor4 constructor) {
+		this(type, api, parameters, elements, constructor, 4);
+	}
+
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor5 constructor) {
+		this(type, api, parameters, elements, constructor, 5);
+	}
+
+	public TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor6 constructor) {
+		this(type, api, parameters, elements, constructor, 6);
+	}
+
+	private TypeWiring(Class<?> type, Class<?> api, Class<?>[] parameters, Class<?>[] elements, Constructor constructor, int arity) {
+		if(parameters.length != arity) {
+			throw new IllegalArgumentException("wiring of '" + type.getName() + "': " + parameters.length + " parameters, constructor call with " + arity);
+		}
+
+		this.type = type;
+		this.api = api;
+		this.parameters = parameters;
+		this.elements = elements;
+		this.constructor = constructor;
+	}
+
+}
@@ -0,0 +1,10 @@
+package de.curoerp.core.modularity.exception;
+
+public class BootPlanInvalidException extends Exception {
+	private static final long serialVersionUID = 1L;
+
+	public BootPlanInvalidException(String msg) {
+		super(msg);
+	}
+
+}
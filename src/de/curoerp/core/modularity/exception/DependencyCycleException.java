@@ -0,0 +1,19 @@
+package de.curoerp.core.modularity.exception;
+
+public class DependencyCycleException extends Exception {
+	private static final long serialVersionUID = 1L;
+	private String path;
+	
+	public DependencyCycleException(String path) {
+		this.path = path;
+	}
+	
+	public String getPath() {
+		return this.path;
+	}
+	
+	@Override
+	public String getMessage() {
+		return "Dependency cycle detected: " + this.path;
+	}
+}
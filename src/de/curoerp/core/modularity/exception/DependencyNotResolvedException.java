@@ -7,4 +7,12 @@ public class DependencyNotResolvedException extends Exception {
 		super(msg);
 	}
 
+	/**
+	 * @param msg {@link String}
+	 * @param stackTrace {@link Boolean} false => no stack trace is captured (expected misses, cheap)
+	 */
+	public DependencyNotResolvedException(String msg, boolean stackTrace) {
+		super(msg, null, stackTrace, stackTrace);
+	}
+
 }
@@ -0,0 +1,10 @@
+package de.curoerp.core.modularity.exception;
+
+public class LibraryClashException extends Exception {
+	private static final long serialVersionUID = 1L;
+
+	public LibraryClashException(String msg) {
+		super(msg);
+	}
+
+}
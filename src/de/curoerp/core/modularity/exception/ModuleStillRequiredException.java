@@ -0,0 +1,10 @@
+package de.curoerp.core.modularity.exception;
+
+public class ModuleStillRequiredException extends Exception {
+	private static final long serialVersionUID = 1L;
+
+	public ModuleStillRequiredException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,10 @@
+package de.curoerp.core.modularity.exception;
+
+public class ModuleVersionConflictException extends Exception {
+	private static final long serialVersionUID = 1L;
+
+	public ModuleVersionConflictException(String msg) {
+		super(msg);
+	}
+
+}
@@ -1,5 +1,6 @@
 package de.curoerp.core.modularity.language;
 
+import java.util.Locale;
 import java.util.ResourceBundle;
 
 import de.curoerp.core.logging.LoggingService;
@@ -8,16 +9,19 @@ import de.curoerp.core.modularity.module.Module;
 public class LocaleService implements ILocaleService {
 
 	private String localeName;
+	private ClassLoader classLoader;
 	private ResourceBundle bundle;
 
 	public LocaleService(Module module) {
 		this.localeName = module.getSystemName();
+		this.classLoader = module.getClassLoader();
 		
 		this.ini();
 	}
 	
 	private void ini() {
-    	this.bundle = ResourceBundle.getBundle("resources." + this.localeName);
+		// resources of module jar
+    	this.bundle = ResourceBundle.getBundle("resources." + this.localeName, Locale.getDefault(), this.classLoader);
 	}
 
 	@Override
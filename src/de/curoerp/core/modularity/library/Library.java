@@ -0,0 +1,94 @@
+package de.curoerp.core.modularity.library;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Library-jar, identified by content (SHA-256): every distinct library is loaded once
+ * 
+ * @category Dependency loading System
+ */
+public class Library {
+
+	// artifact-version.jar, e.g. snakeyaml-1.21.jar
+	private final static Pattern FILE_NAME = Pattern.compile("^(.+?)-(\\d[\\w.\\-]*)\\.jar$");
+
+	private final File file;
+	private final String hash;
+	private final String artifact;
+	private final String version;
+	private final TreeSet<String> modules = new TreeSet<>();
+
+	Library(File file, String hash) {
+		this.file = file;
+		this.hash = hash;
+
+		Matcher matcher = FILE_NAME.matcher(file.getName());
+		if(matcher.matches()) {
+			this.artifact = matcher.group(1);
+			this.version = matcher.group(2);
+		} else {
+			this.artifact = file.getName().endsWith(".jar") ? file.getName().substring(0, file.getName().length() - 4) : file.getName();
+			this.version = null;
+		}
+	}
+
+	/**
+	 * loaded jar-file (first one, if the same content exists in more files)
+	 * 
+	 * @return {@link File}
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * content-hash
+	 * 
+	 * @return {@link String} SHA-256 (hex)
+	 */
+	public String getHash() {
+		return this.hash;
+	}
+
+	/**
+	 * artifact-name of file-name (without version)
+	 * 
+	 * @return {@link String}
+	 */
+	public String getArtifact() {
+		return this.artifact;
+	}
+
+	/**
+	 * version of file-name
+	 * 
+	 * @return {@link String} or null
+	 */
+	public String getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * modules using this library
+	 * 
+	 * @return {@link Set} of display-names
+	 */
+	public Set<String> getModules() {
+		return Collections.unmodifiableSet(this.modules);
+	}
+
+	void addModule(String module) {
+		this.modules.add(module);
+	}
+
+	@Override
+	public String toString() {
+		return this.artifact + (this.version != null ? " " + this.version : "") + " [" + this.hash.substring(0, 12) + "]";
+	}
+
+}
@@ -0,0 +1,194 @@
+package de.curoerp.core.modularity.library;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.curoerp.core.logging.LoggingService;
+import de.curoerp.core.modularity.exception.LibraryClashException;
+import de.curoerp.core.modularity.exception.ModuleCanNotBeLoadedException;
+import de.curoerp.core.modularity.module.Module;
+import de.curoerp.core.modularity.plan.FileFingerprint;
+
+/**
+ * Library-Store: every library of the library-directory, deduplicated by content (SHA-256)
+ * 
+ * every distinct library is loaded exactly once in one shared class-loader (parent of every module).
+ * Different contents with the same artifact-name (e.g. snakeyaml-1.20.jar & snakeyaml-1.21.jar) are a clash,
+ * detected before anything is loaded.
+ * 
+ * @category Dependency loading System
+ */
+public class LibraryStore {
+
+	private final File directory;
+
+	// content-hash => library
+	private final LinkedHashMap<String, Library> libraries = new LinkedHashMap<>();
+	// path => content-hash
+	private final HashMap<String, String> files = new HashMap<>();
+
+	private ClassLoader classLoader = null;
+
+	/**
+	 * @param directory {@link File} library-directory
+	 */
+	public LibraryStore(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * add every library of every module
+	 * 
+	 * @param modules {@link Module}[]
+	 * 
+	 * @throws ModuleCanNotBeLoadedException => library not found or not readable
+	 * @throws LibraryClashException => different libraries with the same artifact-name
+	 */
+	public void addAll(Module[] modules) throws ModuleCanNotBeLoadedException, LibraryClashException {
+		if(this.classLoader != null) {
+			throw new IllegalStateException("library-store already loaded");
+		}
+
+		for (Module module : modules) {
+			for (String name : module.getLibraries()) {
+				this.add(new File(this.directory, name), module.getDisplayName()).addModule(module.getDisplayName());
+			}
+		}
+
+		this.checkClashes();
+	}
+
+	private Library add(File file, String module) throws ModuleCanNotBeLoadedException {
+		String path = file.getAbsolutePath();
+		String hash = this.files.get(path);
+		if(hash != null) {
+			return this.libraries.get(hash);
+		}
+
+		if(!file.isFile()) {
+			throw new ModuleCanNotBeLoadedException("library '" + file.getName() + "' of module '" + module + "' not found");
+		}
+
+		try {
+			hash = LibraryStore.hex(FileFingerprint.hash(file));
+		} catch (IOException e) {
+			throw new ModuleCanNotBeLoadedException("library '" + file.getName() + "' can't be read: " + e.getMessage());
+		}
+
+		this.files.put(path, hash);
+		Library library = this.libraries.get(hash);
+		if(library == null) {
+			library = new Library(file, hash);
+			this.libraries.put(hash, library);
+		} else {
+			LoggingService.info("library '{}' is a duplicate of '{}', loaded once", file.getName(), library.getFile().getName());
+		}
+		return library;
+	}
+
+	private void checkClashes() throws LibraryClashException {
+		HashMap<String, List<Library>> artifacts = new HashMap<>();
+		for (Library library : this.libraries.values()) {
+			artifacts.computeIfAbsent(library.getArtifact(), a -> new ArrayList<>()).add(library);
+		}
+
+		ArrayList<String> clashes = new ArrayList<>();
+		for (Map.Entry<String, List<Library>> artifact : artifacts.entrySet()) {
+			if(artifact.getValue().size() > 1) {
+				ArrayList<String> versions = new ArrayList<>();
+				for (Library library : artifact.getValue()) {
+					versions.add(library.getFile().getName() + " (" + String.join(", ", library.getModules()) + ")");
+				}
+				clashes.add(artifact.getKey() + ": " + String.join(" <> ", versions));
+			}
+		}
+
+		if(clashes.size() > 0) {
+			Collections.sort(clashes);
+			throw new LibraryClashException("library version clash: " + String.join("; ", clashes));
+		}
+	}
+
+	/**
+	 * find first library of module, which isn't in this store (e.g. hot-deploy of a module with new libraries)
+	 * 
+	 * @param module {@link Module}
+	 * @return [String=first missing library]|[null=every library loaded]
+	 */
+	public String findMissingLibrary(Module module) {
+		for (String name : module.getLibraries()) {
+			// content may have changed since boot => hash again
+			File file = new File(this.directory, name);
+			String hash = null;
+			try {
+				hash = file.isFile() ? LibraryStore.hex(FileFingerprint.hash(file)) : null;
+			} catch (IOException e) {
+				// not readable => missing
+			}
+
+			if(hash == null || !this.libraries.containsKey(hash)) {
+				return name;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * shared class-loader of every library, created once
+	 * 
+	 * @param parent {@link ClassLoader} core
+	 * @return {@link ClassLoader}, parent if there is no library
+	 * @throws MalformedURLException
+	 */
+	public ClassLoader getClassLoader(ClassLoader parent) throws MalformedURLException {
+		if(this.classLoader == null) {
+			if(this.libraries.isEmpty()) {
+				this.classLoader = parent;
+			} else {
+				ArrayList<URL> urls = new ArrayList<>();
+				for (Library library : this.libraries.values()) {
+					urls.add(library.getFile().toURI().toURL());
+				}
+				this.classLoader = new URLClassLoader(urls.toArray(new URL[urls.size()]), parent);
+			}
+		}
+		return this.classLoader;
+	}
+
+	/**
+	 * every distinct library
+	 * 
+	 * @return {@link Collection} of {@link Library}
+	 */
+	public Collection<Library> getLibraries() {
+		return Collections.unmodifiableCollection(this.libraries.values());
+	}
+
+	/**
+	 * log which modules share which library
+	 */
+	public void report() {
+		for (Library library : this.libraries.values()) {
+			LoggingService.info(() -> "library " + library + " used by " + library.getModules().size() + " module(s): " + String.join(", ", library.getModules()));
+		}
+	}
+
+	private static String hex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return builder.toString();
+	}
+
+}
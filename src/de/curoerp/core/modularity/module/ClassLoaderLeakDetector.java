@@ -0,0 +1,68 @@
+package de.curoerp.core.modularity.module;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import de.curoerp.core.logging.LoggingService;
+
+/**
+ * Leak check of released module class-loaders (hot-deploy)
+ *
+ * a released class-loader is only weakly referenced. If it's still reachable after the delay,
+ * one gc is requested and the class-loader checked again. Still reachable => warning
+ * (something outside the module holds an instance, class, thread or thread-local of it).
+ *
+ * @category Dependency loading System
+ */
+public final class ClassLoaderLeakDetector {
+
+	private final long delay;
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "module-leak-check");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * @param delay {@link Long} milliseconds until check
+	 */
+	public ClassLoaderLeakDetector(long delay) {
+		this.delay = delay;
+	}
+
+	/**
+	 * check class-loader after delay
+	 *
+	 * @param name {@link String} module
+	 * @param loader {@link ClassLoader} released class-loader, never referenced by this detector
+	 */
+	public void watch(String name, ClassLoader loader) {
+		WeakReference<ClassLoader> reference = new WeakReference<>(loader);
+		this.scheduler.schedule(() -> this.check(name, reference, true), this.delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void check(String name, WeakReference<ClassLoader> reference, boolean retry) {
+		if(reference.get() == null) {
+			LoggingService.debug("class-loader of '{}' collected", name);
+			return;
+		}
+
+		if(retry) {
+			System.gc();
+			this.scheduler.schedule(() -> this.check(name, reference, false), this.delay, TimeUnit.MILLISECONDS);
+			return;
+		}
+
+		LoggingService.warn("class-loader of '" + name + "' not collected after unload, possible leak (instances, threads or static references outside the module?)");
+	}
+
+	/**
+	 * stop pending checks
+	 */
+	public void shutdown() {
+		this.scheduler.shutdownNow();
+	}
+
+}
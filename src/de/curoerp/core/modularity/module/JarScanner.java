@@ -0,0 +1,270 @@
+package de.curoerp.core.modularity.module;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Jar-Scanner: reads the zip central directory of a jar-file
+ * 
+ * much cheaper than {@link java.util.jar.JarFile} for single entries (cmod.yml) and class-listings:
+ * no validation, no entry-objects, only the central directory and requested entries are read.
+ * The file is neither mapped nor kept open (can be replaced or deleted while the scanner is in use).
+ * ZIP64 and other unsupported jars throw a {@link ZipException} => use {@link java.util.jar.JarFile}.
+ * 
+ * @category Dependency loading System
+ */
+public final class JarScanner {
+
+	private final static int EOCD_SIGNATURE = 0x06054b50;
+	private final static int CEN_SIGNATURE = 0x02014b50;
+	private final static int LOC_SIGNATURE = 0x04034b50;
+	private final static int EOCD_SIZE = 22;
+	private final static int CEN_SIZE = 46;
+	private final static int LOC_SIZE = 30;
+
+	private final static int STORED = 0;
+	private final static int DEFLATED = 8;
+
+	private final static byte[] CLASS_SUFFIX = ".class".getBytes(StandardCharsets.US_ASCII);
+
+	private final File file;
+	private final long size;
+	// central directory, position 0 => offset in file
+	private final ByteBuffer buffer;
+	private final long offset;
+	private final int entries;
+
+	private JarScanner(File file, long size, ByteBuffer buffer, long offset, int entries) {
+		this.file = file;
+		this.size = size;
+		this.buffer = buffer;
+		this.offset = offset;
+		this.entries = entries;
+	}
+
+	/**
+	 * read bytes of file
+	 * 
+	 * @return {@link ByteBuffer} little endian, position 0
+	 * @throws ZipException => file shorter than expected
+	 */
+	private static ByteBuffer read(File file, FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if(channel.read(buffer, position + buffer.position()) < 0) {
+				throw new ZipException("jar-file '" + file + "' is corrupt");
+			}
+		}
+		// Buffer-cast: ByteBuffer.flip() is covariant since Java 9
+		((Buffer) buffer).flip();
+		return buffer;
+	}
+
+	/**
+	 * read central directory of jar-file
+	 * 
+	 * @param file {@link File}
+	 * @return {@link JarScanner}
+	 * 
+	 * @throws ZipException => no zip-file or unsupported (ZIP64, > 2 GB)
+	 * @throws IOException
+	 */
+	public static JarScanner open(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE) {
+				throw new ZipException("jar-file '" + file + "' too large");
+			}
+
+			// end of central directory: last record, followed by comment (max. 65535 bytes)
+			int tail = (int) Math.min(size, EOCD_SIZE + 0xffff);
+			ByteBuffer buffer = JarScanner.read(file, channel, size - tail, tail);
+			int eocd = -1;
+			for (int i = tail - EOCD_SIZE; i >= 0; i--) {
+				if(buffer.getInt(i) == EOCD_SIGNATURE) {
+					eocd = i;
+					break;
+				}
+			}
+			if(eocd < 0) {
+				throw new ZipException("jar-file '" + file + "' has no central directory");
+			}
+
+			int entries = Short.toUnsignedInt(buffer.getShort(eocd + 10));
+			long offset = Integer.toUnsignedLong(buffer.getInt(eocd + 16));
+			if(entries == 0xffff || offset == 0xffffffffL) {
+				throw new ZipException("jar-file '" + file + "' is ZIP64");
+			}
+			if(offset >= size - tail + eocd) {
+				throw new ZipException("jar-file '" + file + "' has an invalid central directory");
+			}
+
+			// central directory up to end of file, positions relative to offset
+			return new JarScanner(file, size, JarScanner.read(file, channel, offset, (int) (size - offset)), offset, entries);
+		}
+	}
+
+	/**
+	 * open entry
+	 * 
+	 * @param name {@link String} entry-name, e.g. cmod.yml
+	 * @return {@link InputStream} or null if entry doesn't exist
+	 * 
+	 * @throws ZipException => unsupported compression
+	 * @throws IOException
+	 */
+	public InputStream getInputStream(String name) throws IOException {
+		byte[] search = name.getBytes(StandardCharsets.UTF_8);
+
+		int position = 0;
+		for (int i = 0; i < this.entries; i++) {
+			int nameLength = this.checkEntry(position);
+
+			if(nameLength == search.length && this.equals(position + CEN_SIZE, search)) {
+				return this.open(position);
+			}
+
+			position = this.next(position, nameLength);
+		}
+
+		return null;
+	}
+
+	/**
+	 * class-names of every class-entry (binary names, e.g. a.b.C$D)
+	 * 
+	 * @return {@link List} of {@link String}
+	 * @throws ZipException
+	 */
+	public List<String> getClassNames() throws ZipException {
+		ArrayList<String> classes = new ArrayList<>();
+
+		int position = 0;
+		for (int i = 0; i < this.entries; i++) {
+			int nameLength = this.checkEntry(position);
+			int name = position + CEN_SIZE;
+
+			if(nameLength > CLASS_SUFFIX.length && this.equals(name + nameLength - CLASS_SUFFIX.length, CLASS_SUFFIX)) {
+				byte[] bytes = new byte[nameLength - CLASS_SUFFIX.length];
+				for (int j = 0; j < bytes.length; j++) {
+					byte b = this.buffer.get(name + j);
+					bytes[j] = b == '/' ? (byte) '.' : b;
+				}
+				classes.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+
+			position = this.next(position, nameLength);
+		}
+
+		return classes;
+	}
+
+	private int next(int position, int nameLength) {
+		return position + CEN_SIZE + nameLength
+				+ Short.toUnsignedInt(this.buffer.getShort(position + 30))
+				+ Short.toUnsignedInt(this.buffer.getShort(position + 32));
+	}
+
+	private boolean equals(int position, byte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			if(this.buffer.get(position + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * central directory entry inside of file?
+	 * 
+	 * @return {@link Integer} name length
+	 * @throws ZipException => corrupt (e.g. truncated)
+	 */
+	private int checkEntry(int position) throws ZipException {
+		this.checkSignature(position, CEN_SIGNATURE, CEN_SIZE);
+		int nameLength = Short.toUnsignedInt(this.buffer.getShort(position + 28));
+		if(position + CEN_SIZE + nameLength > this.buffer.limit()) {
+			throw new ZipException("jar-file '" + this.file + "' is corrupt");
+		}
+		return nameLength;
+	}
+
+	/**
+	 * header with signature inside of central directory?
+	 * 
+	 * @throws ZipException => corrupt (e.g. truncated)
+	 */
+	private void checkSignature(int position, int signature, int size) throws ZipException {
+		if(position < 0 || position > this.buffer.limit() - size || this.buffer.getInt(position) != signature) {
+			throw new ZipException("jar-file '" + this.file + "' is corrupt");
+		}
+	}
+
+	/**
+	 * read data of central directory entry
+	 */
+	private InputStream open(int position) throws IOException {
+		int method = Short.toUnsignedInt(this.buffer.getShort(position + 10));
+		long compressed = Integer.toUnsignedLong(this.buffer.getInt(position + 20));
+		long local = Integer.toUnsignedLong(this.buffer.getInt(position + 42));
+		if(compressed == 0xffffffffL || local == 0xffffffffL) {
+			throw new ZipException("jar-file '" + this.file + "' is ZIP64");
+		}
+		if(method != STORED && method != DEFLATED) {
+			throw new ZipException("jar-file '" + this.file + "' uses unsupported compression " + method);
+		}
+
+		byte[] bytes;
+		try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+			// local header: name and extra may differ from central directory
+			if(local > this.offset - LOC_SIZE) {
+				throw new ZipException("jar-file '" + this.file + "' is corrupt");
+			}
+			ByteBuffer header = JarScanner.read(this.file, channel, local, LOC_SIZE);
+			if(header.getInt(0) != LOC_SIGNATURE) {
+				throw new ZipException("jar-file '" + this.file + "' is corrupt");
+			}
+			long data = local + LOC_SIZE
+					+ Short.toUnsignedInt(header.getShort(26))
+					+ Short.toUnsignedInt(header.getShort(28));
+			if(data + compressed > this.size) {
+				throw new ZipException("jar-file '" + this.file + "' is corrupt");
+			}
+
+			// +1 byte dummy for inflater (raw deflate)
+			bytes = new byte[(int) compressed + (method == DEFLATED ? 1 : 0)];
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, (int) compressed);
+			while (buffer.hasRemaining()) {
+				if(channel.read(buffer, data + buffer.position()) < 0) {
+					throw new ZipException("jar-file '" + this.file + "' is corrupt");
+				}
+			}
+		}
+
+		if(method == STORED) {
+			return new ByteArrayInputStream(bytes);
+		}
+		// raw deflate (nowrap)
+		return new InflaterInputStream(new ByteArrayInputStream(bytes), new Inflater(true), 4096) {
+			@Override
+			public void close() throws IOException {
+				super.close();
+				this.inf.end();
+			}
+		};
+	}
+
+}
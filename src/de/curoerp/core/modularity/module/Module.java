@@ -2,20 +2,21 @@ package de.curoerp.core.modularity.module;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Method;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.ResourceBundle;
 import java.util.jar.JarFile;
+import java.util.zip.ZipException;
 
+import de.curoerp.core.logging.LoggingService;
 import de.curoerp.core.modularity.dependency.DependencyInfo;
 import de.curoerp.core.modularity.dependency.DependencyLimitation;
+import de.curoerp.core.modularity.dependency.IModuleWiring;
 import de.curoerp.core.modularity.exception.DependencyLimitationException;
 import de.curoerp.core.modularity.exception.ModuleCanNotBeLoadedException;
 import de.curoerp.core.modularity.exception.ModuleFileAlreadyLoadedException;
 import de.curoerp.core.modularity.exception.ModuleVersionStringInvalidException;
-import de.curoerp.core.modularity.versioning.VersionExpression;
 import de.curoerp.core.modularity.versioning.VersionInfo;
 
 /**
@@ -31,8 +32,12 @@ public class Module implements IModule {
 	private boolean isLoaded = false;
 	private boolean isDebug = false;
 	private ModuleInfo info;
+	private String systemName;
 	private VersionInfo version;
 	private DependencyInfo[] dependencies;
+	private IModuleWiring wiring;
+	private String[] classes = new String[0];
+	private ClassLoader classLoader = null;
 
 	/**
 	 * Construct Module by Jar-File
@@ -55,8 +60,8 @@ public class Module implements IModule {
 	public Module(ModuleInfo module) throws DependencyLimitationException, ModuleVersionStringInvalidException {
 		this.isDebug = true;
 		this.isLoaded = true;
-		this.version = new VersionInfo(module.version);
-		this.info = module;
+		this.version = VersionInfo.of(module.version);
+		this.setInfo(module);
 		System.out.println("MODULE NAME: " + this.info.name);
 		this.parseDependencies();
 	}
@@ -72,13 +77,21 @@ public class Module implements IModule {
 	 */
 
 	/**
-	 * Get System-Name
+	 * Get Jar-File
 	 * 
-	 * @return {@link String}
+	 * @return {@link File}, null in debug-mode
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Get System-Name (known after loading the module-information)
+	 * 
+	 * @return {@link String} interned
 	 */
 	public String getSystemName() {
-		if(!this.isLoaded) return null;
-		return Module.parseSystemName(this.info.name);
+		return this.systemName;
 	}
 
 	/**
@@ -92,22 +105,21 @@ public class Module implements IModule {
 	}
 
 	/**
-	 * Get Display Name (Name and Version)
+	 * Get Display Name (Name and Version, known after loading the module-information)
 	 * 
 	 * @return {@link String}
 	 */
 	public String getDisplayName() {
-		if(!this.isLoaded) return null;
+		if(this.info == null) return null;
 		return this.info.name + " (" + this.version + ")";
 	}
 
 	/**
-	 * Get Module-Version
+	 * Get Module-Version (known after loading the module-information)
 	 * 
-	 * @return {@link Integer}
+	 * @return {@link VersionInfo}
 	 */
 	public VersionInfo getVersion() {
-		if(!this.isLoaded) return null;
 		return this.version;
 	}
 
@@ -130,12 +142,12 @@ public class Module implements IModule {
 	}
 
 	/**
-	 * Get Dependency-Resolve Types
+	 * Get Dependency-Resolve Types (known after loading the module-information)
 	 * 
 	 * @return {@link TypeInfo}[]
 	 */
 	public TypeInfo[] getTypes() {
-		if(!this.isLoaded) return null;
+		if(this.info == null) return null;
 		return this.info.typeInfos;
 	}
 
@@ -149,6 +161,52 @@ public class Module implements IModule {
 		return this.info.bootClass;
 	}
 
+	/**
+	 * Types constructed on first lookup by default? (TypeInfo.lazy overrides)
+	 * 
+	 * @return {@link Boolean}
+	 */
+	public boolean isLazy() {
+		if(!this.isLoaded) return false;
+		return this.info.lazy;
+	}
+
+	/**
+	 * Get class-loader of module
+	 * 
+	 * @return {@link ClassLoader} own {@link ModuleClassLoader}, in debug-mode or before heaping the core class-loader
+	 */
+	public ClassLoader getClassLoader() {
+		return this.classLoader != null ? this.classLoader : Module.class.getClassLoader();
+	}
+
+	/**
+	 * Get class-names of every class in jar-file (binary names)
+	 * 
+	 * @return String[], empty in debug-mode
+	 */
+	public String[] getClassNames() {
+		return this.classes;
+	}
+
+	/**
+	 * Get generated wiring (wiring processor)
+	 * 
+	 * @return {@link IModuleWiring}, null if module isn't wired at build-time
+	 */
+	public IModuleWiring getWiring() {
+		return this.wiring;
+	}
+
+	/**
+	 * Set generated wiring
+	 * 
+	 * @param wiring {@link IModuleWiring}
+	 */
+	public void setWiring(IModuleWiring wiring) {
+		this.wiring = wiring;
+	}
+
 
 
 	/*
@@ -170,17 +228,31 @@ public class Module implements IModule {
 		}
 
 		try {
-			JarFile jarFile = new JarFile(this.file);
-			ModuleInfo info = ModuleInfo.get(jarFile);
-
-			//cleanup
-			jarFile.close();
+			ModuleInfo info;
+			try {
+				// central directory only, file is not kept open
+				JarScanner scanner = JarScanner.open(this.file);
+				InputStream stream = scanner.getInputStream("cmod.yml");
+				if(stream == null) {
+					throw new ModuleCanNotBeLoadedException("cmod.yml not found in '" + this.file.getName() + "'");
+				}
+				info = ModuleInfo.get(stream);
+				this.classes = scanner.getClassNames().stream().toArray(c -> new String[c]);
+			} catch (ZipException e) {
+				// ZIP64 & Co.
+				LoggingService.debug("jar-scanner: {}, fallback to JarFile", e.getMessage());
+				try (JarFile jarFile = new JarFile(this.file)) {
+					info = ModuleInfo.get(jarFile);
+					this.classes = jarFile.stream().map(entry -> entry.getName()).filter(name -> name.endsWith(".class"))
+							.map(name -> name.substring(0, name.length() - 6).replace('/', '.')).toArray(c -> new String[c]);
+				}
+			}
 
 			// VersionInfo
-			this.version = new VersionInfo(info.version);
+			this.version = VersionInfo.of(info.version);
 
 			// ModuleInfo
-			this.info = info;
+			this.setInfo(info);
 
 			// Dependencies
 			this.parseDependencies();
@@ -189,6 +261,48 @@ public class Module implements IModule {
 		}
 	}
 
+	/**
+	 * restore parsed module-information (module-index), instead of loadInfo
+	 * 
+	 * @param info {@link ModuleInfo}
+	 * @param version {@link VersionInfo}
+	 * @param dependencies {@link DependencyInfo}[]
+	 * @param classes String[] class-names
+	 */
+	void restoreInfo(ModuleInfo info, VersionInfo version, DependencyInfo[] dependencies, String[] classes) {
+		this.setInfo(info);
+		this.version = version;
+		this.dependencies = dependencies;
+		this.classes = classes;
+
+		for (DependencyInfo dependency : dependencies) {
+			dependency.compile();
+		}
+	}
+
+	private void setInfo(ModuleInfo info) {
+		this.info = info;
+		this.systemName = Module.parseSystemName(info.name).intern();
+	}
+
+	/**
+	 * parsed module-information, also before heaping (module-index)
+	 * 
+	 * @return {@link ModuleInfo}
+	 */
+	ModuleInfo getInfo() {
+		return this.info;
+	}
+
+	/**
+	 * parsed version, also before heaping (module-index)
+	 * 
+	 * @return {@link VersionInfo}
+	 */
+	VersionInfo getParsedVersion() {
+		return this.version;
+	}
+
 	/**
 	 * Parse dependencies from Info-File in Dependency-objects
 	 * 
@@ -205,53 +319,31 @@ public class Module implements IModule {
 				// there are limitations
 				ArrayList<DependencyLimitation> limitations = new ArrayList<>();
 				for (String sLimitation : splittedDependency[1].split(",")) {
-					DependencyLimitation limitation = Arrays.stream(VersionExpression.values())
-							.filter(expression -> sLimitation.startsWith(expression.pattern))
-							.map(expression -> parseLimitation(sLimitation.substring(expression.pattern.length()), expression))
-							.filter(l -> l != null)
-							.findFirst()
-							.orElse(null);
-
-					if(limitation == null) {
-						throw new DependencyLimitationException("dependency-limitation '" + sLimitation + "' could not resolved!");
+					try {
+						limitations.add(new DependencyLimitation(sLimitation));
+					} catch (ModuleVersionStringInvalidException e) {
+						throw new DependencyLimitationException("dependency-limitation '" + sLimitation + "' could not resolved: " + e.getMessage());
 					}
-					limitations.add(limitation);
 				}
 				dependency.limitations = limitations.toArray(new DependencyLimitation[limitations.size()]);
 			}
 
 			dependency.name = splittedDependency[0];
-			dependencies.add(dependency);
+			dependencies.add(dependency.compile());
 		}
 
 		this.dependencies = dependencies.toArray(new DependencyInfo[dependencies.size()]);
 	}
 
 	/**
-	 * parse single DependencyLimitation (Version/Expression)
+	 * heap jar-file in actual runtime: own class-loader, classes indexed
 	 * 
-	 * @param sVersion {@link String}
-	 * @param expression {@link VersionExpression}
-	 * @return {@link DependencyLimitation}
-	 */
-	private DependencyLimitation parseLimitation(String sVersion, VersionExpression expression) {
-		DependencyLimitation limitation = new DependencyLimitation();
-		limitation.expression = expression;
-		try {
-			limitation.version = new VersionInfo(sVersion);
-		} catch (ModuleVersionStringInvalidException e) {
-			return null;
-		}
-		return limitation;
-	}
-
-	/**
-	 * heap jar-file in actual runtime
+	 * @param index {@link ModuleLoaderIndex}
 	 * 
 	 * @throws ModuleFileAlreadyLoadedException 
 	 * @throws ModuleCanNotBeLoadedException 
 	 */
-	public void fetchJar() throws ModuleFileAlreadyLoadedException, ModuleCanNotBeLoadedException {
+	public void fetchJar(ModuleLoaderIndex index) throws ModuleFileAlreadyLoadedException, ModuleCanNotBeLoadedException {
 		if(isDebug) {
 			return;
 		}
@@ -260,22 +352,40 @@ public class Module implements IModule {
 			throw new ModuleFileAlreadyLoadedException();
 		}
 
-		Method method = null;
 		try {
-			URLClassLoader classLoader = (URLClassLoader)ClassLoader.getSystemClassLoader();
-			method = URLClassLoader.class.getDeclaredMethod("addURL", URL.class);
-			method.setAccessible(true);
-			method.invoke(classLoader, this.file.toURI().toURL());
-		}
-		catch(Exception e) {
+			this.classLoader = index.register(this);
+		} catch(MalformedURLException e) {
 			throw new ModuleCanNotBeLoadedException(e.getMessage());
 		}
-		finally {
-			if(method != null) {
-				method.setAccessible(false);
-			}
-		}
 
 		this.isLoaded = true;
-	}	
+	}
+
+	/**
+	 * release jar-file from runtime: class-loader closed, wiring dropped (hot-deploy)
+	 * 
+	 * the module can be heaped again with {@link #fetchJar(ModuleLoaderIndex)}, every instance must be removed before!
+	 * 
+	 * @param index {@link ModuleLoaderIndex}
+	 * @return {@link ClassLoader} released class-loader (leak check), null if not heaped
+	 */
+	public ClassLoader unload(ModuleLoaderIndex index) {
+		if(isDebug || !this.isLoaded) {
+			return null;
+		}
+
+		ClassLoader loader = this.classLoader;
+		index.unregister(this);
+		ResourceBundle.clearCache(loader);
+		try {
+			((ModuleClassLoader) loader).close();
+		} catch (IOException e) {
+			LoggingService.warn("class-loader of '" + this.getDisplayName() + "' can't be closed: " + e.getMessage());
+		}
+
+		this.classLoader = null;
+		this.wiring = null;
+		this.isLoaded = false;
+		return loader;
+	}
 }
@@ -0,0 +1,93 @@
+package de.curoerp.core.modularity.module;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Class-Loader of one module (parallel capable)
+ * 
+ * classes of modules are routed by the {@link ModuleLoaderIndex} directly to the owning module,
+ * but only modules in cmod.yml-dependencies are visible. Every other class (core, libraries, jdk) is loaded parent-first.
+ * 
+ * @category Dependency loading System
+ */
+public class ModuleClassLoader extends URLClassLoader {
+
+	static {
+		ClassLoader.registerAsParallelCapable();
+	}
+
+	private final Module module;
+	private final ModuleLoaderIndex index;
+	private volatile Set<ModuleClassLoader> visible = Collections.emptySet();
+
+	/**
+	 * @param module {@link Module} with jar-file
+	 * @param index {@link ModuleLoaderIndex}
+	 * @param parent {@link ClassLoader} core & libraries
+	 * @throws MalformedURLException
+	 */
+	ModuleClassLoader(Module module, ModuleLoaderIndex index, ClassLoader parent) throws MalformedURLException {
+		super(new URL[] { module.getFile().toURI().toURL() }, parent);
+		this.module = module;
+		this.index = index;
+	}
+
+	public Module getModule() {
+		return this.module;
+	}
+
+	/**
+	 * set visible modules (dependencies)
+	 * 
+	 * @param visible {@link Set} of {@link ModuleClassLoader}
+	 */
+	void setVisible(Set<ModuleClassLoader> visible) {
+		this.visible = visible;
+	}
+
+	@Override
+	protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+		ModuleClassLoader owner = this.index.findOwner(name);
+		if(owner == null) {
+			// core, libraries, jdk
+			return super.loadClass(name, resolve);
+		}
+
+		if(owner != this && !this.visible.contains(owner)) {
+			throw new ClassNotFoundException(name + " (module '" + owner.module.getDisplayName() + "' isn't a dependency of '" + this.module.getDisplayName() + "')");
+		}
+
+		return owner.loadOwnClass(name, resolve);
+	}
+
+	/**
+	 * load class of this module (never delegated)
+	 * 
+	 * @param name {@link String}
+	 * @param resolve {@link Boolean}
+	 * @return Class<?>
+	 * @throws ClassNotFoundException
+	 */
+	Class<?> loadOwnClass(String name, boolean resolve) throws ClassNotFoundException {
+		synchronized (this.getClassLoadingLock(name)) {
+			Class<?> cls = this.findLoadedClass(name);
+			if(cls == null) {
+				cls = this.findClass(name);
+			}
+			if(resolve) {
+				this.resolveClass(cls);
+			}
+			return cls;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ModuleClassLoader[" + this.module.getSystemName() + "]";
+	}
+
+}
@@ -0,0 +1,308 @@
+package de.curoerp.core.modularity.module;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import de.curoerp.core.modularity.dependency.DependencyInfo;
+import de.curoerp.core.modularity.dependency.DependencyLimitation;
+import de.curoerp.core.modularity.exception.ModuleVersionStringInvalidException;
+import de.curoerp.core.modularity.versioning.VersionInfo;
+
+/**
+ * Module-Index: parsed module-information (cmod.yml, version, dependencies) of every module-jar,
+ * keyed by path, size and mtime
+ * 
+ * unchanged jars are restored from the index, only new or changed jars are opened & parsed.
+ * 
+ * @category Dependency loading System
+ */
+public class ModuleIndex {
+
+	public final static String FILE_NAME = "modules.index";
+
+	private final static int MAGIC = 0x434d4900;
+	private final static int VERSION = 3;
+
+	private final HashMap<String, Entry> entries;
+	private boolean modified = false;
+
+	private static class Entry {
+		long size;
+		long lastModified;
+		ModuleInfo info;
+		VersionInfo version;
+		DependencyInfo[] dependencies;
+		String[] classes;
+	}
+
+	private ModuleIndex(HashMap<String, Entry> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * empty index
+	 * 
+	 * @return {@link ModuleIndex}
+	 */
+	public static ModuleIndex empty() {
+		return new ModuleIndex(new HashMap<>());
+	}
+
+	/**
+	 * restore module-information of unchanged jar
+	 * 
+	 * @param module {@link Module} not loaded
+	 * @return {@link Boolean} restored, false => jar new or changed (loadInfo!)
+	 */
+	public boolean restore(Module module) {
+		File file = module.getFile();
+		Entry entry = this.entries.get(file.getAbsolutePath());
+		if(entry == null || entry.size != file.length() || entry.lastModified != file.lastModified()) {
+			return false;
+		}
+
+		module.restoreInfo(entry.info, entry.version, entry.dependencies, entry.classes);
+		return true;
+	}
+
+	/**
+	 * put module-information of loaded module
+	 * 
+	 * @param module {@link Module} loaded (loadInfo)
+	 */
+	public void put(Module module) {
+		Entry entry = new Entry();
+		entry.size = module.getFile().length();
+		entry.lastModified = module.getFile().lastModified();
+		entry.info = module.getInfo();
+		entry.version = module.getParsedVersion();
+		entry.dependencies = module.getDependencies();
+		entry.classes = module.getClassNames();
+
+		this.entries.put(module.getFile().getAbsolutePath(), entry);
+		this.modified = true;
+	}
+
+	/**
+	 * remove every jar which isn't in modules anymore
+	 * 
+	 * @param modules {@link Module}[]
+	 */
+	public void retain(Module[] modules) {
+		HashSet<String> paths = new HashSet<>();
+		for (Module module : modules) {
+			paths.add(module.getFile().getAbsolutePath());
+		}
+		this.modified |= this.entries.keySet().retainAll(paths);
+	}
+
+	/**
+	 * changed since read?
+	 * 
+	 * @return {@link Boolean}
+	 */
+	public boolean isModified() {
+		return this.modified;
+	}
+
+	/*
+	 * Serialization
+	 */
+
+	/**
+	 * read index
+	 * 
+	 * @param file {@link File}
+	 * @return {@link ModuleIndex}
+	 * @throws IOException => not readable or unknown format
+	 */
+	public static ModuleIndex read(File file) throws IOException {
+		// every entry takes at least one byte => no count is larger than the file
+		long limit = file.length();
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("module-index '" + file + "' has an unknown format");
+			}
+
+			int count = ModuleIndex.readCount(in, limit, false);
+			HashMap<String, Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				String path = in.readUTF();
+				Entry entry = new Entry();
+				entry.size = in.readLong();
+				entry.lastModified = in.readLong();
+				entry.info = ModuleIndex.readInfo(in, limit);
+				entry.version = VersionInfo.of(in.readLong());
+				entry.dependencies = ModuleIndex.readDependencies(in, limit);
+				entry.classes = ModuleIndex.readStrings(in, limit);
+				entries.put(path, entry);
+			}
+
+			return new ModuleIndex(entries);
+		} catch (RuntimeException e) {
+			// e.g. unknown expression
+			throw new IOException("module-index '" + file + "' is corrupt: " + e);
+		}
+	}
+
+	/**
+	 * count of entries, 0 - limit
+	 * 
+	 * @param nullable {@link Boolean} -1 => null
+	 * @throws IOException => corrupt
+	 */
+	private static int readCount(DataInputStream in, long limit, boolean nullable) throws IOException {
+		int count = in.readInt();
+		if(count < (nullable ? -1 : 0) || count > limit) {
+			throw new IOException("module-index is corrupt (count " + count + ")");
+		}
+		return count;
+	}
+
+	/**
+	 * write index (atomic: temp-file & move)
+	 * 
+	 * @param file {@link File}
+	 * @throws IOException
+	 */
+	public void write(File file) throws IOException {
+		File temp = new File(file.getPath() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			out.writeInt(this.entries.size());
+			for (java.util.Map.Entry<String, Entry> item : this.entries.entrySet()) {
+				Entry entry = item.getValue();
+				out.writeUTF(item.getKey());
+				out.writeLong(entry.size);
+				out.writeLong(entry.lastModified);
+				ModuleIndex.writeInfo(out, entry.info);
+				out.writeLong(entry.version.getVersionNumeric());
+				ModuleIndex.writeDependencies(out, entry.dependencies);
+				ModuleIndex.writeStrings(out, entry.classes);
+			}
+		}
+
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		this.modified = false;
+	}
+
+	private static void writeInfo(DataOutputStream out, ModuleInfo info) throws IOException {
+		ModuleIndex.writeString(out, info.name);
+		ModuleIndex.writeString(out, info.version);
+		ModuleIndex.writeStrings(out, info.dependencies);
+		ModuleIndex.writeStrings(out, info.libraries);
+		ModuleIndex.writeString(out, info.bootClass);
+		out.writeBoolean(info.lazy);
+
+		out.writeInt(info.typeInfos == null ? -1 : info.typeInfos.length);
+		if(info.typeInfos != null) {
+			for (TypeInfo type : info.typeInfos) {
+				ModuleIndex.writeString(out, type.type);
+				ModuleIndex.writeString(out, type.api);
+				out.writeByte(type.lazy == null ? -1 : type.lazy ? 1 : 0);
+			}
+		}
+	}
+
+	private static ModuleInfo readInfo(DataInputStream in, long limit) throws IOException {
+		ModuleInfo info = new ModuleInfo();
+		info.name = ModuleIndex.readString(in);
+		info.version = ModuleIndex.readString(in);
+		info.dependencies = ModuleIndex.readStrings(in, limit);
+		info.libraries = ModuleIndex.readStrings(in, limit);
+		info.bootClass = ModuleIndex.readString(in);
+		info.lazy = in.readBoolean();
+
+		int count = ModuleIndex.readCount(in, limit, true);
+		info.typeInfos = count < 0 ? null : new TypeInfo[count];
+		for (int i = 0; i < count; i++) {
+			TypeInfo type = new TypeInfo(ModuleIndex.readString(in), ModuleIndex.readString(in));
+			byte lazy = in.readByte();
+			type.lazy = lazy < 0 ? null : lazy == 1;
+			info.typeInfos[i] = type;
+		}
+
+		return info;
+	}
+
+	private static void writeDependencies(DataOutputStream out, DependencyInfo[] dependencies) throws IOException {
+		out.writeInt(dependencies.length);
+		for (DependencyInfo dependency : dependencies) {
+			out.writeUTF(dependency.name);
+			out.writeInt(dependency.limitations == null ? -1 : dependency.limitations.length);
+			if(dependency.limitations != null) {
+				for (DependencyLimitation limitation : dependency.limitations) {
+					out.writeUTF(limitation.pattern);
+				}
+			}
+		}
+	}
+
+	private static DependencyInfo[] readDependencies(DataInputStream in, long limit) throws IOException {
+		DependencyInfo[] dependencies = new DependencyInfo[ModuleIndex.readCount(in, limit, false)];
+		for (int i = 0; i < dependencies.length; i++) {
+			DependencyInfo dependency = new DependencyInfo();
+			dependency.name = in.readUTF();
+
+			int count = ModuleIndex.readCount(in, limit, true);
+			dependency.limitations = count < 0 ? null : new DependencyLimitation[count];
+			for (int j = 0; j < count; j++) {
+				try {
+					dependency.limitations[j] = new DependencyLimitation(in.readUTF());
+				} catch (ModuleVersionStringInvalidException e) {
+					throw new IOException(e.getMessage());
+				}
+			}
+			dependencies[i] = dependency;
+		}
+		return dependencies;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if(value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+		out.writeInt(values == null ? -1 : values.length);
+		if(values != null) {
+			for (String value : values) {
+				ModuleIndex.writeString(out, value);
+			}
+		}
+	}
+
+	private static String[] readStrings(DataInputStream in, long limit) throws IOException {
+		int count = ModuleIndex.readCount(in, limit, true);
+		if(count < 0) {
+			return null;
+		}
+
+		String[] values = new String[count];
+		for (int i = 0; i < count; i++) {
+			values[i] = ModuleIndex.readString(in);
+		}
+		return values;
+	}
+
+}
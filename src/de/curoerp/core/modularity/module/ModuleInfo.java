@@ -17,21 +17,38 @@ public class ModuleInfo {
 	public String[] libraries = new String[0];
 	public TypeInfo[] typeInfos = new TypeInfo[0];
 	public String bootClass;
+	public boolean lazy = false;
 	
 
+	/**
+	 * @deprecated Yaml isn't thread-safe, use {@link #get(InputStream)}
+	 */
+	@Deprecated
 	public final static Yaml YAML_MODULEINFO = new Yaml(new Constructor(ModuleInfo.class));
 
+	// one parser per thread (parallel loading)
+	private final static ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(() -> new Yaml(new Constructor(ModuleInfo.class)));
+
 	public static ModuleInfo get(File cmodFile) throws IOException  {
-		InputStream stream = new FileInputStream(cmodFile);
-		ModuleInfo info = YAML_MODULEINFO.loadAs(stream, ModuleInfo.class);
-		stream.close();
-		return info;
+		return get(new FileInputStream(cmodFile));
 	}
 	
 	public static ModuleInfo get(JarFile jarFile) throws IOException  {
-		InputStream stream = jarFile.getInputStream(jarFile.getEntry("cmod.yml"));
-		ModuleInfo info = YAML_MODULEINFO.loadAs(stream, ModuleInfo.class);
-		stream.close();
-		return info;
+		return get(jarFile.getInputStream(jarFile.getEntry("cmod.yml")));
+	}
+
+	/**
+	 * parse cmod.yml, stream is closed afterwards (thread-safe)
+	 * 
+	 * @param stream {@link InputStream}
+	 * @return {@link ModuleInfo}
+	 * @throws IOException
+	 */
+	public static ModuleInfo get(InputStream stream) throws IOException  {
+		try {
+			return YAML.get().loadAs(stream, ModuleInfo.class);
+		} finally {
+			stream.close();
+		}
 	}
 }
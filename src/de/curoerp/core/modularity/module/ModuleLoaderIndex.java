@@ -0,0 +1,168 @@
+package de.curoerp.core.modularity.module;
+
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Package => module class-loader, built from the class-listing of every module-jar
+ * 
+ * every class-request is routed directly to the owning module (no walk over every jar).
+ * Packages in more than one module (split packages, e.g. generated wirings) are indexed per class.
+ * 
+ * @category Dependency loading System
+ */
+public final class ModuleLoaderIndex {
+
+	private final ClassLoader parent;
+	private final ConcurrentHashMap<String, ModuleClassLoader> packages = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, ModuleClassLoader> classes = new ConcurrentHashMap<>();
+	private final Set<String> splitPackages = ConcurrentHashMap.newKeySet();
+	private volatile RuntimeClassLoader runtimeLoader;
+
+	/**
+	 * @param parent {@link ClassLoader} of core & libraries
+	 */
+	public ModuleLoaderIndex(ClassLoader parent) {
+		this.parent = parent;
+		this.runtimeLoader = new RuntimeClassLoader(this, parent);
+	}
+
+	/**
+	 * create class-loader of module and index its classes
+	 * 
+	 * @param module {@link Module} with jar-file and class-listing
+	 * @return {@link ModuleClassLoader}
+	 * @throws MalformedURLException
+	 */
+	public synchronized ModuleClassLoader register(Module module) throws MalformedURLException {
+		ModuleClassLoader loader = new ModuleClassLoader(module, this, this.parent);
+
+		for (String name : module.getClassNames()) {
+			String pkg = ModuleLoaderIndex.packageOf(name);
+			if(this.splitPackages.contains(pkg)) {
+				this.classes.put(name, loader);
+				continue;
+			}
+
+			ModuleClassLoader owner = this.packages.putIfAbsent(pkg, loader);
+			if(owner != null && owner != loader) {
+				// split package: index every class of both modules
+				this.splitPackages.add(pkg);
+				this.packages.remove(pkg);
+				for (String other : owner.getModule().getClassNames()) {
+					if(pkg.equals(ModuleLoaderIndex.packageOf(other))) {
+						this.classes.put(other, owner);
+					}
+				}
+				this.classes.put(name, loader);
+			}
+		}
+
+		return loader;
+	}
+
+	/**
+	 * remove classes of module from index (hot-deploy)
+	 * 
+	 * the runtime class-loader is replaced, because the jvm caches every class it has loaded (initiating loader)
+	 * 
+	 * @param module {@link Module} registered module
+	 */
+	public synchronized void unregister(Module module) {
+		ClassLoader loader = module.getClassLoader();
+		this.packages.values().removeIf(owner -> owner == loader);
+		this.classes.values().removeIf(owner -> owner == loader);
+		this.runtimeLoader = new RuntimeClassLoader(this, this.parent);
+	}
+
+	/**
+	 * visibility: every module sees itself and its dependencies (transitive, cmod.yml)
+	 * 
+	 * @param registry {@link ModuleRegistry} registered modules
+	 */
+	public void link(ModuleRegistry registry) {
+		for (Module module : registry.getModules()) {
+			if(!(module.getClassLoader() instanceof ModuleClassLoader)) {
+				continue;
+			}
+
+			HashSet<ModuleClassLoader> visible = new HashSet<>();
+			List<Module> pending = new ArrayList<>(Collections.singletonList(module));
+			while(!pending.isEmpty()) {
+				Module current = pending.remove(pending.size() - 1);
+				if(!(current.getClassLoader() instanceof ModuleClassLoader) || !visible.add((ModuleClassLoader) current.getClassLoader())) {
+					continue;
+				}
+				for (Module dependModule : registry.getDependencies(current)) {
+					if(dependModule != null) {
+						pending.add(dependModule);
+					}
+				}
+			}
+
+			((ModuleClassLoader) module.getClassLoader()).setVisible(Collections.unmodifiableSet(visible));
+		}
+	}
+
+	/**
+	 * owning module of class
+	 * 
+	 * @param name {@link String} binary class-name
+	 * @return {@link ModuleClassLoader}, null => no module class (core, library, jdk)
+	 */
+	public ModuleClassLoader findOwner(String name) {
+		String pkg = ModuleLoaderIndex.packageOf(name);
+		ModuleClassLoader owner = this.packages.get(pkg);
+		if(owner == null && !this.classes.isEmpty()) {
+			owner = this.classes.get(name);
+		}
+		return owner;
+	}
+
+	/**
+	 * class-loader which sees every module (container, boot), replaced by {@link #unregister(Module)}
+	 * 
+	 * @return {@link ClassLoader}
+	 */
+	public ClassLoader getRuntimeLoader() {
+		return this.runtimeLoader;
+	}
+
+	private static String packageOf(String name) {
+		int index = name.lastIndexOf('.');
+		return index < 0 ? "" : name.substring(0, index);
+	}
+
+	/**
+	 * view of every module: routed by index, else parent
+	 */
+	private static class RuntimeClassLoader extends ClassLoader {
+
+		static {
+			ClassLoader.registerAsParallelCapable();
+		}
+
+		private final ModuleLoaderIndex index;
+
+		RuntimeClassLoader(ModuleLoaderIndex index, ClassLoader parent) {
+			super(parent);
+			this.index = index;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			ModuleClassLoader owner = this.index.findOwner(name);
+			if(owner != null) {
+				return owner.loadOwnClass(name, resolve);
+			}
+			return super.loadClass(name, resolve);
+		}
+
+	}
+
+}
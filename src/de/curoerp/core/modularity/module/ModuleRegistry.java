@@ -0,0 +1,112 @@
+package de.curoerp.core.modularity.module;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import de.curoerp.core.modularity.dependency.DependencyInfo;
+
+/**
+ * Module-Registry: immutable set of modules, keyed by (interned) system-name
+ *
+ * every dependency (cmod.yml) is resolved once while construction, O(modules + dependencies),
+ * every change of the module-set builds a new registry.
+ *
+ * @category Dependency loading System
+ */
+public final class ModuleRegistry {
+
+	private final Module[] modules;
+	private final HashMap<String, Module> named;
+
+	// module => resolved dependencies (index of Module#getDependencies, null => missing)
+	private final IdentityHashMap<Module, Module[]> dependencies;
+	// module => direct dependents
+	private final IdentityHashMap<Module, List<Module>> dependents;
+
+	/**
+	 * @param modules {@link Module}[] with module-information
+	 */
+	public ModuleRegistry(Module[] modules) {
+		this.modules = modules;
+		this.named = new HashMap<>(modules.length * 4 / 3 + 1);
+		this.dependencies = new IdentityHashMap<>(modules.length);
+		this.dependents = new IdentityHashMap<>(modules.length);
+
+		for (Module module : modules) {
+			this.named.put(module.getSystemName(), module);
+		}
+
+		for (Module module : modules) {
+			Module[] resolved = this.resolve(module);
+			for (Module dependency : resolved) {
+				if(dependency != null && dependency != module) {
+					this.dependents.computeIfAbsent(dependency, m -> new ArrayList<>()).add(module);
+				}
+			}
+			this.dependencies.put(module, resolved);
+		}
+	}
+
+	private Module[] resolve(Module module) {
+		DependencyInfo[] infos = module.getDependencies();
+		Module[] resolved = new Module[infos.length];
+		for (int i = 0; i < infos.length; i++) {
+			resolved[i] = this.named.get(infos[i].getSystemName());
+		}
+		return resolved;
+	}
+
+	/**
+	 * every module
+	 *
+	 * @return {@link Module}[] (shared, never modify!)
+	 */
+	public Module[] getModules() {
+		return this.modules;
+	}
+
+	/**
+	 * find module by name
+	 *
+	 * @param name {@link String} module name or system-name
+	 * @return {@link Module} or null
+	 */
+	public Module find(String name) {
+		return this.named.get(Module.parseSystemName(name));
+	}
+
+	/**
+	 * find module by system-name
+	 *
+	 * @param systemName {@link String}
+	 * @return {@link Module} or null
+	 */
+	public Module get(String systemName) {
+		return this.named.get(systemName);
+	}
+
+	/**
+	 * resolved dependencies of module
+	 *
+	 * @param module {@link Module}, also a module outside of this registry
+	 * @return {@link Module}[] same index as {@link Module#getDependencies()}, null => missing (shared, never modify!)
+	 */
+	public Module[] getDependencies(Module module) {
+		Module[] resolved = this.dependencies.get(module);
+		return resolved != null ? resolved : this.resolve(module);
+	}
+
+	/**
+	 * modules depending directly on module
+	 *
+	 * @param module {@link Module} of this registry
+	 * @return {@link List} of {@link Module}
+	 */
+	public List<Module> getDependents(Module module) {
+		return Collections.unmodifiableList(this.dependents.getOrDefault(module, Collections.emptyList()));
+	}
+
+}
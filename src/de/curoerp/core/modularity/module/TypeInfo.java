@@ -15,4 +15,5 @@ public class TypeInfo {
 	
 	public String type;
 	public String api = "";
+	public Boolean lazy = null; // null => module default
 }
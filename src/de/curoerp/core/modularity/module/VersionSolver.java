@@ -0,0 +1,268 @@
+package de.curoerp.core.modularity.module;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import de.curoerp.core.modularity.dependency.DependencyInfo;
+import de.curoerp.core.modularity.exception.ModuleVersionConflictException;
+import de.curoerp.core.modularity.versioning.VersionRange;
+
+/**
+ * Version-Solver: selects exactly one version of every module, if the module-directory contains several versions
+ *
+ * every selected version narrows the allowed versions of its dependencies (interval intersection, see {@link VersionRange}).
+ * Highest versions are tried first, the solver backtracks only if a module has no allowed version left.
+ * Dependencies without any module are ignored here, they are reported by the dependency check.
+ *
+ * @category Dependency loading System
+ */
+public final class VersionSolver {
+
+	private static final int MAX_STEPS = 100000;
+
+	// per module (system-name): versions descending
+	private final String[] names;
+	private final Module[][] candidates;
+	private final long[][] versions;
+
+	// per candidate: index of required module (-1 => no such module) & allowed versions
+	private final int[][][] dependencyIndexes;
+	private final VersionRange[][][] dependencyRanges;
+
+	// dependents first, their limitations narrow the dependencies early
+	private final int[] order;
+
+	// search state
+	private final VersionRange[] allowed;
+	private final int[] selected;
+	private final ArrayList<Object> trail = new ArrayList<>();
+	private int steps = 0;
+	private int deepest = -1;
+	private String conflict = null;
+
+	/**
+	 * @param modules {@link Module}[] every module-jar with module-information, several per system-name
+	 */
+	public VersionSolver(Module[] modules) {
+		LinkedHashMap<String, List<Module>> named = new LinkedHashMap<>();
+		for (Module module : modules) {
+			named.computeIfAbsent(module.getSystemName(), n -> new ArrayList<>()).add(module);
+		}
+
+		int count = named.size();
+		this.names = named.keySet().toArray(new String[count]);
+		this.candidates = new Module[count][];
+		this.versions = new long[count][];
+		HashMap<String, Integer> indexes = new HashMap<>(count * 4 / 3 + 1);
+
+		for (int i = 0; i < count; i++) {
+			Module[] candidates = named.get(this.names[i]).toArray(new Module[0]);
+			Arrays.sort(candidates, Comparator.comparing(Module::getVersion).reversed());
+			this.candidates[i] = candidates;
+			this.versions[i] = Arrays.stream(candidates).mapToLong(m -> m.getVersion().getVersionNumeric()).toArray();
+			indexes.put(this.names[i], i);
+		}
+
+		this.dependencyIndexes = new int[count][][];
+		this.dependencyRanges = new VersionRange[count][][];
+		for (int i = 0; i < count; i++) {
+			this.dependencyIndexes[i] = new int[this.candidates[i].length][];
+			this.dependencyRanges[i] = new VersionRange[this.candidates[i].length][];
+			for (int c = 0; c < this.candidates[i].length; c++) {
+				DependencyInfo[] dependencies = this.candidates[i][c].getDependencies();
+				this.dependencyIndexes[i][c] = new int[dependencies.length];
+				this.dependencyRanges[i][c] = new VersionRange[dependencies.length];
+				for (int d = 0; d < dependencies.length; d++) {
+					this.dependencyIndexes[i][c][d] = indexes.getOrDefault(dependencies[d].getSystemName(), -1);
+					this.dependencyRanges[i][c][d] = dependencies[d].getRange();
+				}
+			}
+		}
+
+		this.order = this.order();
+		this.allowed = new VersionRange[count];
+		Arrays.fill(this.allowed, VersionRange.ALL);
+		this.selected = new int[count];
+		Arrays.fill(this.selected, -1);
+	}
+
+	/**
+	 * select one version of every module
+	 *
+	 * @return {@link Module}[] selected modules (one per system-name)
+	 *
+	 * @throws ModuleVersionConflictException => no consistent selection, with explanation
+	 */
+	public Module[] solve() throws ModuleVersionConflictException {
+		if(!this.solve(0)) {
+			String conflict = this.conflict != null ? this.conflict : "no consistent selection";
+			if(this.steps > MAX_STEPS) {
+				conflict = "search aborted after " + MAX_STEPS + " steps, last conflict: " + conflict;
+			}
+			throw new ModuleVersionConflictException(conflict);
+		}
+
+		Module[] modules = new Module[this.names.length];
+		for (int i = 0; i < modules.length; i++) {
+			modules[i] = this.candidates[i][this.selected[i]];
+		}
+		return modules;
+	}
+
+	private boolean solve(int depth) {
+		if(depth == this.order.length) {
+			return true;
+		}
+		if(++this.steps > MAX_STEPS) {
+			return false;
+		}
+
+		int module = this.order[depth];
+		for (int c = 0; c < this.candidates[module].length; c++) {
+			if(!this.allowed[module].contains(this.versions[module][c])) {
+				continue;
+			}
+
+			int mark = this.trail.size();
+			this.selected[module] = c;
+			if(this.narrow(depth, module, c) && this.solve(depth + 1)) {
+				return true;
+			}
+
+			this.undo(mark);
+			this.selected[module] = -1;
+			if(this.steps > MAX_STEPS) {
+				return false;
+			}
+		}
+
+		this.fail(depth, module);
+		return false;
+	}
+
+	/**
+	 * narrow allowed versions of every dependency of selected candidate
+	 *
+	 * @return {@link Boolean} every dependency has an allowed version left
+	 */
+	private boolean narrow(int depth, int module, int candidate) {
+		int[] indexes = this.dependencyIndexes[module][candidate];
+		VersionRange[] ranges = this.dependencyRanges[module][candidate];
+
+		for (int d = 0; d < indexes.length; d++) {
+			int dependency = indexes[d];
+			if(dependency < 0) {
+				continue;
+			}
+
+			VersionRange range = this.allowed[dependency].intersect(ranges[d]);
+			if(range != this.allowed[dependency]) {
+				this.trail.add(dependency);
+				this.trail.add(this.allowed[dependency]);
+				this.allowed[dependency] = range;
+			}
+
+			boolean possible = this.selected[dependency] >= 0
+					? range.contains(this.versions[dependency][this.selected[dependency]])
+					: Arrays.stream(this.versions[dependency]).anyMatch(range::contains);
+			if(!possible) {
+				this.fail(depth + 1, dependency);
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private void undo(int mark) {
+		while(this.trail.size() > mark) {
+			VersionRange range = (VersionRange) this.trail.remove(this.trail.size() - 1);
+			int module = (Integer) this.trail.remove(this.trail.size() - 1);
+			this.allowed[module] = range;
+		}
+	}
+
+	/**
+	 * remember first conflict of the deepest search (conflict of a dependency is deeper than its dependent)
+	 */
+	private void fail(int depth, int module) {
+		if(depth <= this.deepest) {
+			return;
+		}
+		this.deepest = depth;
+
+		ArrayList<String> versions = new ArrayList<>();
+		for (Module candidate : this.candidates[module]) {
+			versions.add(candidate.getVersion().getVersionName());
+		}
+
+		ArrayList<String> limitations = new ArrayList<>();
+		for (int i = 0; i < this.names.length; i++) {
+			if(this.selected[i] < 0) {
+				continue;
+			}
+			int[] indexes = this.dependencyIndexes[i][this.selected[i]];
+			for (int d = 0; d < indexes.length; d++) {
+				if(indexes[d] == module) {
+					limitations.add(this.candidates[i][this.selected[i]].getDisplayName() + " requires " + this.dependencyRanges[i][this.selected[i]][d]);
+				}
+			}
+		}
+
+		this.conflict = "no version of module '" + this.candidates[module][0].getSystemName() + "' (" + String.join(", ", versions) + ") "
+				+ "matches every limitation: " + String.join("; ", limitations);
+	}
+
+	/**
+	 * dependents before their dependencies (reverse post-order, cycles are broken anywhere)
+	 */
+	private int[] order() {
+		int count = this.names.length;
+		boolean[] visited = new boolean[count];
+		int[] order = new int[count];
+		int position = count;
+
+		for (int start = 0; start < count; start++) {
+			if(visited[start]) {
+				continue;
+			}
+
+			// iterative dfs: [module, next candidate, next dependency]
+			ArrayList<int[]> stack = new ArrayList<>();
+			stack.add(new int[] {start, 0, 0});
+			visited[start] = true;
+			while(!stack.isEmpty()) {
+				int[] frame = stack.get(stack.size() - 1);
+				int module = frame[0];
+				int next = -1;
+				while(next < 0 && frame[1] < this.candidates[module].length) {
+					int[] indexes = this.dependencyIndexes[module][frame[1]];
+					if(frame[2] >= indexes.length) {
+						frame[1]++;
+						frame[2] = 0;
+						continue;
+					}
+					int dependency = indexes[frame[2]++];
+					if(dependency >= 0 && !visited[dependency]) {
+						next = dependency;
+					}
+				}
+
+				if(next < 0) {
+					stack.remove(stack.size() - 1);
+					order[--position] = module;
+				} else {
+					visited[next] = true;
+					stack.add(new int[] {next, 0, 0});
+				}
+			}
+		}
+
+		return order;
+	}
+
+}
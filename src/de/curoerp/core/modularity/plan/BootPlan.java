@@ -0,0 +1,255 @@
+package de.curoerp.core.modularity.plan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import de.curoerp.core.modularity.dependency.DependencyNode;
+
+/**
+ * Boot-Plan: result of a successful resolvement
+ * 
+ * contains module order, type order and constructor bindings,
+ * keyed by the fingerprints of every module- and library-jar
+ * 
+ * @category Dependency loading System
+ */
+public class BootPlan {
+
+	public final static String FILE_NAME = "boot.plan";
+
+	private final static int MAGIC = 0x43425000;
+	private final static int VERSION = 1;
+
+	/**
+	 * one type of the plan
+	 */
+	public static class PlannedType {
+		public String module;
+		public String type;
+		public String api;
+		public String[] parameters;
+		// position of every dependency in plan
+		public int[] dependencies;
+	}
+
+	private FileFingerprint[] fingerprints;
+	private String[] modules;
+	private PlannedType[] types;
+
+	private BootPlan(FileFingerprint[] fingerprints, String[] modules, PlannedType[] types) {
+		this.fingerprints = fingerprints;
+		this.modules = modules;
+		this.types = types;
+	}
+
+	/**
+	 * build plan of resolved order
+	 * 
+	 * @param files {@link File}[] every module- and library-jar
+	 * @param order {@link List} of {@link DependencyNode}, topological sorted
+	 * @return {@link BootPlan}
+	 * @throws IOException
+	 */
+	public static BootPlan of(File[] files, List<DependencyNode> order) throws IOException {
+		FileFingerprint[] fingerprints = new FileFingerprint[files.length];
+		for (int i = 0; i < files.length; i++) {
+			fingerprints[i] = FileFingerprint.of(files[i]);
+		}
+
+		IdentityHashMap<DependencyNode, Integer> positions = new IdentityHashMap<>();
+		LinkedHashSet<String> modules = new LinkedHashSet<>();
+		PlannedType[] types = new PlannedType[order.size()];
+
+		for (DependencyNode node : order) {
+			PlannedType type = new PlannedType();
+			type.module = node.getModule().getSystemName();
+			type.type = node.getType().getName();
+			type.api = node.getApi() == null ? "" : node.getApi().getName();
+
+			type.parameters = new String[node.getParameters().length];
+			for (int i = 0; i < type.parameters.length; i++) {
+				type.parameters[i] = node.getParameters()[i].getName();
+			}
+
+			ArrayList<Integer> dependencies = new ArrayList<>();
+			for (DependencyNode dependency : node.getDependencies()) {
+				dependencies.add(positions.get(dependency));
+			}
+			type.dependencies = dependencies.stream().mapToInt(i -> i).toArray();
+
+			modules.add(type.module);
+			positions.put(node, positions.size());
+			types[positions.size() - 1] = type;
+		}
+
+		return new BootPlan(fingerprints, modules.toArray(new String[modules.size()]), types);
+	}
+
+	/**
+	 * plan still valid for files?
+	 * 
+	 * @param files {@link File}[] every module- and library-jar
+	 * @return {@link Boolean}
+	 * @throws IOException
+	 */
+	public boolean matches(File[] files) throws IOException {
+		if(files.length != this.fingerprints.length) {
+			return false;
+		}
+
+		for (int i = 0; i < files.length; i++) {
+			if(!this.fingerprints[i].matches(files[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * module system names in resolved order
+	 * 
+	 * @return {@link String}[]
+	 */
+	public String[] getModules() {
+		return this.modules;
+	}
+
+	/**
+	 * types in instantiation order
+	 * 
+	 * @return {@link PlannedType}[]
+	 */
+	public PlannedType[] getTypes() {
+		return this.types;
+	}
+
+	/*
+	 * Serialization
+	 */
+
+	/**
+	 * read plan
+	 * 
+	 * @param file {@link File}
+	 * @return {@link BootPlan}
+	 * @throws IOException => not readable, other format or corrupt
+	 */
+	public static BootPlan read(File file) throws IOException {
+		// every entry takes at least one byte => no count is larger than the file
+		long limit = file.length();
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("boot-plan '" + file + "' has an unknown format");
+			}
+
+			FileFingerprint[] fingerprints = new FileFingerprint[BootPlan.readCount(in, limit)];
+			for (int i = 0; i < fingerprints.length; i++) {
+				fingerprints[i] = FileFingerprint.read(in);
+			}
+
+			String[] modules = new String[BootPlan.readCount(in, limit)];
+			for (int i = 0; i < modules.length; i++) {
+				modules[i] = in.readUTF();
+			}
+
+			HashSet<String> names = new HashSet<>(Arrays.asList(modules));
+			PlannedType[] types = new PlannedType[BootPlan.readCount(in, limit)];
+			for (int i = 0; i < types.length; i++) {
+				PlannedType type = new PlannedType();
+				type.module = in.readUTF();
+				if(!names.contains(type.module)) {
+					throw new IOException("boot-plan '" + file + "' is corrupt (unknown module '" + type.module + "')");
+				}
+				type.type = in.readUTF();
+				type.api = in.readUTF();
+				type.parameters = new String[BootPlan.readCount(in, limit)];
+				for (int j = 0; j < type.parameters.length; j++) {
+					type.parameters[j] = in.readUTF();
+				}
+				type.dependencies = new int[BootPlan.readCount(in, limit)];
+				for (int j = 0; j < type.dependencies.length; j++) {
+					type.dependencies[j] = in.readInt();
+					if(type.dependencies[j] < 0 || type.dependencies[j] >= i) {
+						throw new IOException("boot-plan '" + file + "' is corrupt (dependency " + type.dependencies[j] + ")");
+					}
+				}
+				types[i] = type;
+			}
+
+			return new BootPlan(fingerprints, modules, types);
+		} catch (RuntimeException e) {
+			throw new IOException("boot-plan '" + file + "' is corrupt: " + e);
+		}
+	}
+
+	/**
+	 * count of entries, 0 - limit
+	 * 
+	 * @throws IOException => corrupt
+	 */
+	private static int readCount(DataInputStream in, long limit) throws IOException {
+		int count = in.readInt();
+		if(count < 0 || count > limit) {
+			throw new IOException("boot-plan is corrupt (count " + count + ")");
+		}
+		return count;
+	}
+
+	/**
+	 * write plan (atomic: temp-file & move)
+	 * 
+	 * @param file {@link File}
+	 * @throws IOException
+	 */
+	public void write(File file) throws IOException {
+		File temp = new File(file.getPath() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			out.writeInt(this.fingerprints.length);
+			for (FileFingerprint fingerprint : this.fingerprints) {
+				fingerprint.write(out);
+			}
+
+			out.writeInt(this.modules.length);
+			for (String module : this.modules) {
+				out.writeUTF(module);
+			}
+
+			out.writeInt(this.types.length);
+			for (PlannedType type : this.types) {
+				out.writeUTF(type.module);
+				out.writeUTF(type.type);
+				out.writeUTF(type.api);
+				out.writeInt(type.parameters.length);
+				for (String parameter : type.parameters) {
+					out.writeUTF(parameter);
+				}
+				out.writeInt(type.dependencies.length);
+				for (int dependency : type.dependencies) {
+					out.writeInt(dependency);
+				}
+			}
+		}
+
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+}
@@ -0,0 +1,114 @@
+package de.curoerp.core.modularity.plan;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Fingerprint of a module- or library-jar: path, size, mtime, content-hash (SHA-256)
+ * 
+ * @category Dependency loading System
+ */
+public class FileFingerprint {
+
+	private final String path;
+	private final long size;
+	private final long lastModified;
+	private final byte[] hash;
+
+	private FileFingerprint(String path, long size, long lastModified, byte[] hash) {
+		this.path = path;
+		this.size = size;
+		this.lastModified = lastModified;
+		this.hash = hash;
+	}
+
+	/**
+	 * build fingerprint of file (reads whole file)
+	 * 
+	 * @param file {@link File}
+	 * @return {@link FileFingerprint}
+	 * @throws IOException
+	 */
+	public static FileFingerprint of(File file) throws IOException {
+		return new FileFingerprint(file.getAbsolutePath(), file.length(), file.lastModified(), FileFingerprint.hash(file));
+	}
+
+	public String getPath() {
+		return this.path;
+	}
+
+	/**
+	 * file unchanged?
+	 * 
+	 * size and mtime equal => unchanged, else content-hash decides (touched but same content)
+	 * 
+	 * @param file {@link File}
+	 * @return {@link Boolean}
+	 * @throws IOException
+	 */
+	public boolean matches(File file) throws IOException {
+		if(!this.path.equals(file.getAbsolutePath()) || !file.isFile() || this.size != file.length()) {
+			return false;
+		}
+
+		if(this.lastModified == file.lastModified()) {
+			return true;
+		}
+
+		return Arrays.equals(this.hash, FileFingerprint.hash(file));
+	}
+
+	/**
+	 * content-hash of file (SHA-256)
+	 * 
+	 * @param file {@link File}
+	 * @return byte[]
+	 * @throws IOException
+	 */
+	public static byte[] hash(File file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream stream = new FileInputStream(file)) {
+			int read;
+			while((read = stream.read(buffer)) > 0) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return digest.digest();
+	}
+
+	/*
+	 * Serialization
+	 */
+
+	void write(DataOutputStream out) throws IOException {
+		out.writeUTF(this.path);
+		out.writeLong(this.size);
+		out.writeLong(this.lastModified);
+		out.writeByte(this.hash.length);
+		out.write(this.hash);
+	}
+
+	static FileFingerprint read(DataInputStream in) throws IOException {
+		String path = in.readUTF();
+		long size = in.readLong();
+		long lastModified = in.readLong();
+		byte[] hash = new byte[in.readUnsignedByte()];
+		in.readFully(hash);
+		return new FileFingerprint(path, size, lastModified, hash);
+	}
+
+}
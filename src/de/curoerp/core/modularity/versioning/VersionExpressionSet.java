@@ -1,6 +1,43 @@
-package de.curoerp.core.modularity.versioning;
-
-public class VersionExpressionSet {
-	public VersionInfo version;
-	public VersionExpression expression;
-}
\ No newline at end of file
+package de.curoerp.core.modularity.versioning;
+
+public class VersionExpressionSet {
+	public VersionInfo version;
+	public VersionExpression expression;
+
+	/**
+	 * every version matching [version] expression [this.version]
+	 *
+	 * @return {@link VersionRange}
+	 */
+	public VersionRange toRange() {
+		return VersionRange.of(this.version.getVersionNumeric(), this.expression);
+	}
+
+	/**
+	 * compile sets (and-gate) into one sorted interval set
+	 *
+	 * @param sets {@link VersionExpressionSet}[]
+	 * @return {@link VersionRange}
+	 */
+	public static VersionRange allOf(VersionExpressionSet[] sets) {
+		VersionRange range = VersionRange.ALL;
+		for (VersionExpressionSet set : sets) {
+			range = range.intersect(set.toRange());
+		}
+		return range;
+	}
+
+	/**
+	 * compile sets (or-gate) into one sorted interval set
+	 *
+	 * @param sets {@link VersionExpressionSet}[]
+	 * @return {@link VersionRange}
+	 */
+	public static VersionRange anyOf(VersionExpressionSet[] sets) {
+		VersionRange range = VersionRange.NONE;
+		for (VersionExpressionSet set : sets) {
+			range = range.union(set.toRange());
+		}
+		return range;
+	}
+}
@@ -1,85 +1,149 @@
-package de.curoerp.core.modularity.versioning;
-
-import de.curoerp.core.modularity.exception.ModuleVersionStringInvalidException;
-
-public class VersionInfo {
-	
-	private long versionNumber;
-	
-	public VersionInfo(String version) throws ModuleVersionStringInvalidException {
-		this.versionNumber = VersionService.parse(version);
-	}
-	
-	/**
-	 * get version-number
-	 * 
-	 * @return {@link Long}
-	 */
-	public Long getVersionNumeric() {
-		return this.versionNumber;
-	}
-
-	/**
-	 * get character-version name (reparsed)
-	 * 
-	 * @return {@link String}
-	 */
-	public String getVersionName() {
-		return VersionService.parse(this.versionNumber);
-	}
-	
-	/**
-	 * check second version and expression match
-	 * 
-	 * [this] expression [second]
-	 * 
-	 * @param version {@link VersionInfo}
-	 * @param expression {@link VersionExpression}
-	 * @return {@link Boolean}
-	 */
-	public boolean match(VersionInfo version, VersionExpression expression) {
-		return VersionService.match(this, version, expression);
-	}
-	
-	
-	/**
-	 * every VersionExpressionSet match this version
-	 * 
-	 * @param sets {@link VersionExpressionSet}[]
-	 * @return {@link Boolean}
-	 */
-	public boolean allMatch(VersionExpressionSet[] sets) {
-		for (VersionExpressionSet set : sets) {
-			if(!match(set.version, set.expression)) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	/**
-	 * one VersionExpressionSet match this version
-	 * 
-	 * @param sets {@link VersionExpressionSet}[]
-	 * @return {@link Boolean}
-	 */
-	public boolean anyMatch(VersionExpressionSet[] sets) {
-		for (VersionExpressionSet set : sets) {
-			if(match(set.version, set.expression)) {
-				return true;
-			}
-		}
-		return false;
-	}
-	
-	
-	/*
-	 * overwriting
-	 */
-	
-	@Override
-	public String toString() {
-		return this.getVersionName();
-	}
-	
-}
+package de.curoerp.core.modularity.versioning;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.curoerp.core.modularity.exception.ModuleVersionStringInvalidException;
+
+/**
+ * Version of a module: canonical numeric form (see {@link VersionService#parse(String)}), e.g. 1.2 = 1.2.0
+ *
+ * immutable, equal versions share one instance when created by {@link #of(long)} or {@link #of(String)}
+ *
+ * @category Dependency loading System
+ */
+public class VersionInfo implements Comparable<VersionInfo> {
+
+	private static final ConcurrentHashMap<Long, VersionInfo> CACHE = new ConcurrentHashMap<>();
+
+	private final long versionNumber;
+	private String versionName;
+
+	public VersionInfo(String version) throws ModuleVersionStringInvalidException {
+		this.versionNumber = VersionService.parse(version);
+	}
+
+	/**
+	 * @param versionNumber long, already parsed (see {@link #getVersionNumeric()})
+	 */
+	public VersionInfo(long versionNumber) {
+		this.versionNumber = versionNumber;
+	}
+
+	/**
+	 * canonical (cached) version
+	 *
+	 * @param versionNumber long, already parsed (see {@link #getVersionNumeric()})
+	 * @return {@link VersionInfo}
+	 */
+	public static VersionInfo of(long versionNumber) {
+		VersionInfo version = CACHE.get(versionNumber);
+		return version != null ? version : CACHE.computeIfAbsent(versionNumber, VersionInfo::new);
+	}
+
+	/**
+	 * canonical (cached) version
+	 *
+	 * @param version {@link String}
+	 * @return {@link VersionInfo}
+	 *
+	 * @throws ModuleVersionStringInvalidException
+	 */
+	public static VersionInfo of(String version) throws ModuleVersionStringInvalidException {
+		return VersionInfo.of(VersionService.parse(version));
+	}
+
+	/**
+	 * get version-number
+	 *
+	 * @return {@link Long}
+	 */
+	public long getVersionNumeric() {
+		return this.versionNumber;
+	}
+
+	/**
+	 * get character-version name (reparsed once)
+	 *
+	 * @return {@link String}
+	 */
+	public String getVersionName() {
+		String versionName = this.versionName;
+		if(versionName == null) {
+			versionName = this.versionName = VersionService.parse(this.versionNumber);
+		}
+		return versionName;
+	}
+
+	/**
+	 * check second version and expression match
+	 *
+	 * [this] expression [second]
+	 *
+	 * @param version {@link VersionInfo}
+	 * @param expression {@link VersionExpression}
+	 * @return {@link Boolean}
+	 */
+	public boolean match(VersionInfo version, VersionExpression expression) {
+		return VersionService.match(this.versionNumber, version.versionNumber, expression);
+	}
+
+	/**
+	 * version in range (binary search)
+	 *
+	 * @param range {@link VersionRange}
+	 * @return {@link Boolean}
+	 */
+	public boolean match(VersionRange range) {
+		return range.contains(this.versionNumber);
+	}
+
+	/**
+	 * every VersionExpressionSet match this version
+	 *
+	 * for repeated checks compile once: {@link VersionExpressionSet#allOf(VersionExpressionSet[])}
+	 *
+	 * @param sets {@link VersionExpressionSet}[]
+	 * @return {@link Boolean}
+	 */
+	public boolean allMatch(VersionExpressionSet[] sets) {
+		return VersionExpressionSet.allOf(sets).contains(this.versionNumber);
+	}
+
+	/**
+	 * one VersionExpressionSet match this version
+	 *
+	 * for repeated checks compile once: {@link VersionExpressionSet#anyOf(VersionExpressionSet[])}
+	 *
+	 * @param sets {@link VersionExpressionSet}[]
+	 * @return {@link Boolean}
+	 */
+	public boolean anyMatch(VersionExpressionSet[] sets) {
+		return VersionExpressionSet.anyOf(sets).contains(this.versionNumber);
+	}
+
+
+	/*
+	 * overwriting
+	 */
+
+	@Override
+	public int compareTo(VersionInfo other) {
+		return Long.compare(this.versionNumber, other.versionNumber);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof VersionInfo && ((VersionInfo) obj).versionNumber == this.versionNumber;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.versionNumber);
+	}
+
+	@Override
+	public String toString() {
+		return this.getVersionName();
+	}
+
+}
@@ -0,0 +1,225 @@
+package de.curoerp.core.modularity.versioning;
+
+import java.util.Arrays;
+
+/**
+ * Version-Range: sorted, disjoint intervals of numeric versions (see {@link VersionInfo#getVersionNumeric()})
+ *
+ * immutable, bounds inclusive. Intersection and union are a merge of both interval lists, lookup a binary search.
+ *
+ * @category Dependency loading System
+ */
+public final class VersionRange {
+
+	public static final long MAX = Long.MAX_VALUE;
+
+	public static final VersionRange ALL = new VersionRange(new long[] {0, MAX});
+	public static final VersionRange NONE = new VersionRange(new long[0]);
+
+	// [from, to, from, to, ...]
+	private final long[] bounds;
+
+	private VersionRange(long[] bounds) {
+		this.bounds = bounds;
+	}
+
+	/**
+	 * range of every version matching [version] expression [limit]
+	 *
+	 * @param limit {@link Long} numeric version
+	 * @param expression {@link VersionExpression}
+	 * @return {@link VersionRange}
+	 */
+	public static VersionRange of(long limit, VersionExpression expression) {
+		switch (expression) {
+		case AFTER:
+			return limit == MAX ? NONE : new VersionRange(new long[] {limit + 1, MAX});
+		case AFTER_AND_SAME:
+			return new VersionRange(new long[] {limit, MAX});
+		case BEFORE:
+			return limit == 0 ? NONE : new VersionRange(new long[] {0, limit - 1});
+		case BEFORE_AND_SAME:
+			return new VersionRange(new long[] {0, limit});
+		case NOT:
+			if(limit == 0) {
+				return new VersionRange(new long[] {1, MAX});
+			}
+			return limit == MAX ? new VersionRange(new long[] {0, MAX - 1}) : new VersionRange(new long[] {0, limit - 1, limit + 1, MAX});
+		case DEFAULT:
+		case SAME:
+			return new VersionRange(new long[] {limit, limit});
+		default:
+			return NONE;
+		}
+	}
+
+	/**
+	 * range from-to (inclusive)
+	 *
+	 * @param from {@link Long} numeric version
+	 * @param to {@link Long} numeric version, {@link #MAX} => open
+	 * @return {@link VersionRange}, {@link #NONE} if from > to
+	 */
+	public static VersionRange between(long from, long to) {
+		if(from > to) {
+			return NONE;
+		}
+		return from == 0 && to == MAX ? ALL : new VersionRange(new long[] {from, to});
+	}
+
+	/**
+	 * version in range? (binary search)
+	 *
+	 * @param version {@link Long} numeric version
+	 * @return {@link Boolean}
+	 */
+	public boolean contains(long version) {
+		long[] bounds = this.bounds;
+		int low = 0;
+		int high = bounds.length / 2 - 1;
+		while(low <= high) {
+			int middle = (low + high) >>> 1;
+			if(version < bounds[middle * 2]) {
+				high = middle - 1;
+			} else if(version > bounds[middle * 2 + 1]) {
+				low = middle + 1;
+			} else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * versions in both ranges
+	 *
+	 * @param other {@link VersionRange}
+	 * @return {@link VersionRange}
+	 */
+	public VersionRange intersect(VersionRange other) {
+		if(this == other || other == ALL) {
+			return this;
+		}
+		if(this == ALL) {
+			return other;
+		}
+
+		long[] a = this.bounds;
+		long[] b = other.bounds;
+		long[] result = new long[a.length + b.length];
+		int length = 0;
+
+		int i = 0;
+		int j = 0;
+		while(i < a.length && j < b.length) {
+			long from = Math.max(a[i], b[j]);
+			long to = Math.min(a[i + 1], b[j + 1]);
+			if(from <= to) {
+				result[length++] = from;
+				result[length++] = to;
+			}
+
+			// drop interval which ends first
+			if(a[i + 1] < b[j + 1]) {
+				i += 2;
+			} else {
+				j += 2;
+			}
+		}
+
+		return length == 0 ? NONE : new VersionRange(Arrays.copyOf(result, length));
+	}
+
+	/**
+	 * versions in one of both ranges
+	 *
+	 * @param other {@link VersionRange}
+	 * @return {@link VersionRange}
+	 */
+	public VersionRange union(VersionRange other) {
+		if(this == other || other.isEmpty() || this == ALL) {
+			return this;
+		}
+		if(this.isEmpty() || other == ALL) {
+			return other;
+		}
+
+		long[] a = this.bounds;
+		long[] b = other.bounds;
+		long[] result = new long[a.length + b.length];
+		int length = 0;
+
+		int i = 0;
+		int j = 0;
+		while(i < a.length || j < b.length) {
+			// next interval by start
+			long from;
+			long to;
+			if(j >= b.length || (i < a.length && a[i] <= b[j])) {
+				from = a[i];
+				to = a[i + 1];
+				i += 2;
+			} else {
+				from = b[j];
+				to = b[j + 1];
+				j += 2;
+			}
+
+			// merge overlapping or adjacent
+			if(length > 0 && (result[length - 1] == MAX || from <= result[length - 1] + 1)) {
+				result[length - 1] = Math.max(result[length - 1], to);
+			} else {
+				result[length++] = from;
+				result[length++] = to;
+			}
+		}
+
+		return length == 2 && result[0] == 0 && result[1] == MAX ? ALL : new VersionRange(Arrays.copyOf(result, length));
+	}
+
+	public boolean isEmpty() {
+		return this.bounds.length == 0;
+	}
+
+	/*
+	 * overwriting
+	 */
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof VersionRange && Arrays.equals(this.bounds, ((VersionRange) obj).bounds);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.bounds);
+	}
+
+	/**
+	 * e.g. [1.0.0, 1.2.0] [2.0.0, 3.0.0[ [4.0.0, *]
+	 * 
+	 * upper bound before a patch-version (e.g. 2.999.999...) exclusive
+	 */
+	@Override
+	public String toString() {
+		if(this.isEmpty()) {
+			return "[]";
+		}
+
+		long patch = VersionService.UNITS[2];
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < this.bounds.length; i += 2) {
+			long to = this.bounds[i + 1];
+			builder.append(i > 0 ? " [" : "[").append(VersionService.parse(this.bounds[i])).append(", ");
+			if(to == MAX) {
+				builder.append("*]");
+			} else if(to % patch != 0 && (to + 1) % patch == 0) {
+				builder.append(VersionService.parse(to + 1)).append('[');
+			} else {
+				builder.append(VersionService.parse(to)).append(']');
+			}
+		}
+		return builder.toString();
+	}
+
+}
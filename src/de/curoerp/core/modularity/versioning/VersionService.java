@@ -1,73 +1,120 @@
 package de.curoerp.core.modularity.versioning;
 
-import de.curoerp.core.logging.LoggingService;
 import de.curoerp.core.modularity.exception.ModuleVersionStringInvalidException;
 
 public class VersionService {
 
+	/**
+	 * numeric version: fixed number of blocks, 3 digits per block
+	 */
+	public static final int BLOCKS = 6;
+
+	// UNITS[i] => value of 1 in block i (0 = major)
+	static final long[] UNITS = new long[BLOCKS];
+	static {
+		long unit = 1;
+		for (int i = BLOCKS - 1; i >= 0; i--) {
+			UNITS[i] = unit;
+			unit *= 1000;
+		}
+	}
+
+	// parse-errors without exception (single pass, no allocation)
+	private static final long INVALID_CHARACTER = -1;
+	private static final long INVALID_BLOCK = -2;
+	private static final long TOO_MANY_BLOCKS = -3;
+
 	/**
 	 * Parse Version-String in numeric version
-	 * Format #/##/###.#/##/###.#/##/###...
-	 * 
-	 * Example: 1.6.8 => 1006008
-	 * 			900.0.999 => 900000999
-	 * 
-	 * min 0, max 9 per position
-	 * 
+	 * Format #/##/###.#/##/###.#/##/###... (max. 6 blocks, missing blocks are 0)
+	 *
+	 * Example: 1.6.8 => 1006008000000000
+	 * 			1.6 => 1006000000000000 (same as 1.6.0)
+	 *
+	 * min 0, max 999 per block
+	 *
 	 * @param Version {@link String}
 	 * @return {@link Long} Version
-	 * 
+	 *
 	 * @throws ModuleVersionStringInvalidException
 	 */
 	public static long parse(String version) throws ModuleVersionStringInvalidException {
-		String[] sSubVersions = version.split("\\.");
-		long numericVersion = 0;
+		long numeric = VersionService.parse(version, 0, version.length());
+		if(numeric < 0) {
+			throw new ModuleVersionStringInvalidException(VersionService.error(version, numeric));
+		}
+		return numeric;
+	}
 
-		for (int i = 0; i < sSubVersions.length; i++) {
-			String sSubVersion = sSubVersions[i];
-			int iSubVersion = -1;
+	/**
+	 * parse version in one pass, no allocation
+	 *
+	 * @param version {@link CharSequence}
+	 * @param from {@link Integer} inclusive
+	 * @param to {@link Integer} exclusive
+	 * @return {@link Long} numeric version, negative => invalid (see INVALID_*)
+	 */
+	private static long parse(CharSequence version, int from, int to) {
+		long numeric = 0;
+		int block = 0;
+		int value = 0;
+		int digits = 0;
 
-			try {
-				iSubVersion = Integer.parseInt(sSubVersion);
-			} catch(NumberFormatException e) {
-				LoggingService.debug(e);
+		for (int i = from; i <= to; i++) {
+			char c = i < to ? version.charAt(i) : '.';
+			if(c >= '0' && c <= '9') {
+				value = value * 10 + (c - '0');
+				if(++digits > 3 && value > 999) {
+					return INVALID_BLOCK;
+				}
+				continue;
 			}
 
-			if(iSubVersion < 0) {
-				throw new ModuleVersionStringInvalidException("version-part '" + sSubVersion + "' smaller than 0 or not parsable");
+			if(c != '.' || digits == 0) {
+				return c == '.' ? INVALID_BLOCK : INVALID_CHARACTER;
 			}
-
-			if(iSubVersion > 999) {
-				throw new ModuleVersionStringInvalidException("version-part '" + sSubVersion + "' to large (max. 999)");
+			if(block == BLOCKS) {
+				return TOO_MANY_BLOCKS;
 			}
 
-			long multiplicator = (long)Math.pow(1000, (sSubVersions.length - i) - 1);
-			numericVersion += multiplicator * iSubVersion;
+			numeric += value * UNITS[block++];
+			value = 0;
+			digits = 0;
 		}
 
-		return numericVersion;
+		return numeric;
+	}
+
+	private static String error(CharSequence version, long error) {
+		if(error == TOO_MANY_BLOCKS) {
+			return "version '" + version + "' has more than " + BLOCKS + " blocks";
+		}
+		if(error == INVALID_BLOCK) {
+			return "version '" + version + "' has an empty block or a block larger than 999";
+		}
+		return "version '" + version + "' contains invalid characters (only digits and dots)";
 	}
 
 	/**
 	 * reverse-engineering: version-number to version-string
-	 * 
+	 *
+	 * at least major.minor.patch, further blocks only if not 0
+	 *
 	 * @param version {@link Long}
 	 * @return {@link String}
 	 */
-	public static String parse(Long version) {
-		int positions = (int) Math.ceil((double)String.valueOf(version).length()/3D);
-		StringBuilder versionBuilder = new StringBuilder();
-		for(int i = 0; i < positions; i++) {
-			// find number
-			long multiplicator = (long)Math.pow(1000, (positions - i) - 1);
-			long v = version/multiplicator;
-
-			// append number and dot
-			versionBuilder.append(versionBuilder.length() > 0 ? "." : "");
-			versionBuilder.append(v);
+	public static String parse(long version) {
+		int blocks = BLOCKS;
+		while(blocks > 3 && (version / UNITS[blocks - 1]) % 1000 == 0) {
+			blocks--;
+		}
 
-			// correcting version for under-versions
-			version -= v*multiplicator;
+		StringBuilder versionBuilder = new StringBuilder(blocks * 4);
+		for (int i = 0; i < blocks; i++) {
+			if(i > 0) {
+				versionBuilder.append('.');
+			}
+			versionBuilder.append((version / UNITS[i]) % 1000);
 		}
 
 		return versionBuilder.toString();
@@ -80,39 +127,219 @@ public class VersionService {
 	 * @return {@link Long} Version, -1 when version invalid
 	 */
 	public static long tryParse(String version) {
-		try {
-			return parse(version);
-		} catch (ModuleVersionStringInvalidException e) {
-			LoggingService.debug(e);
+		long numeric = VersionService.parse(version, 0, version.length());
+		return numeric < 0 ? -1 : numeric;
+	}
+
+	/**
+	 * parse version-limitation into range of matching versions
+	 *
+	 * Syntax:
+	 * 	[expression]Version	see {@link VersionExpression}, e.g. >=1.2.0
+	 * 	^Version			same major (first block not 0), e.g. ^1.2 => [1.2.0, 2.0.0[, ^0.2.3 => [0.2.3, 0.3.0[
+	 * 	~Version			same minor (major if only major given), e.g. ~1.2.3 => [1.2.3, 1.3.0[, ~1 => [1.0.0, 2.0.0[
+	 * 	Version.x			wildcard (x, X or *), e.g. 1.x => [1.0.0, 2.0.0[, * => every version
+	 * 	Version - Version	inclusive, an incomplete upper version includes every version starting with it, e.g. 1.0 - 2 => [1.0.0, 3.0.0[
+	 *
+	 * @param limitation {@link String}
+	 * @return {@link VersionRange}
+	 *
+	 * @throws ModuleVersionStringInvalidException
+	 */
+	public static VersionRange parseRange(String limitation) throws ModuleVersionStringInvalidException {
+		int from = VersionService.skipSpaces(limitation, 0, limitation.length());
+		int to = limitation.length();
+		while(to > from && limitation.charAt(to - 1) == ' ') {
+			to--;
+		}
+
+		// hyphen range
+		int hyphen = limitation.indexOf('-', from);
+		if(hyphen > from) {
+			int end = hyphen;
+			while(limitation.charAt(end - 1) == ' ') {
+				end--;
+			}
+			long lower = VersionService.parseBound(limitation, from, end, false);
+			long upper = VersionService.parseBound(limitation, VersionService.skipSpaces(limitation, hyphen + 1, to), to, true);
+			return VersionRange.between(lower, upper);
+		}
+
+		// ^Version, ~Version
+		char prefix = from < to ? limitation.charAt(from) : ' ';
+		if(prefix == '^' || prefix == '~') {
+			from = VersionService.skipSpaces(limitation, from + 1, to);
+			long lower = VersionService.parseBound(limitation, from, to, false);
+			int blocks = VersionService.countBlocks(limitation, from, to);
+			if(blocks == 0) {
+				return VersionRange.ALL;
+			}
+
+			int block;
+			if(prefix == '^') {
+				// first block not 0
+				block = 0;
+				while(block < blocks - 1 && (lower / UNITS[block]) % 1000 == 0) {
+					block++;
+				}
+			} else {
+				block = Math.min(blocks, 2) - 1;
+			}
+			return VersionRange.between(lower, VersionService.prefixEnd(lower, block + 1));
 		}
-		return -1;
+
+		// Version.x
+		int blocks = VersionService.countBlocks(limitation, from, to);
+		if(blocks >= 0 && VersionService.blocksEnd(limitation, from, blocks) < to) {
+			return VersionRange.between(VersionService.parseBound(limitation, from, to, false), VersionService.parseBound(limitation, from, to, true));
+		}
+
+		// [expression]Version, longest pattern first (<= before <)
+		VersionExpression matched = VersionExpression.DEFAULT;
+		for (VersionExpression expression : VersionExpression.values()) {
+			if(expression.pattern.length() > matched.pattern.length() && limitation.startsWith(expression.pattern, from)) {
+				matched = expression;
+			}
+		}
+		from = VersionService.skipSpaces(limitation, from + matched.pattern.length(), to);
+
+		long version = VersionService.parse(limitation, from, to);
+		if(version < 0) {
+			throw new ModuleVersionStringInvalidException(VersionService.error(limitation.substring(from, to), version));
+		}
+		return VersionRange.of(version, matched);
 	}
 
 	/**
-	 * check expression-match between first-second-values
-	 * 
-	 * @param firstInfo {@link VersionInfo}
-	 * @param secondInfo {@link VersionInfo}
+	 * version with optional wildcard-blocks (x, X, *), e.g. 1.2.x
+	 *
+	 * @param upper {@link Boolean} false => first, true => last version starting with the numeric blocks
+	 */
+	private static long parseBound(String limitation, int from, int to, boolean upper) throws ModuleVersionStringInvalidException {
+		int blocks = VersionService.countBlocks(limitation, from, to);
+		if(blocks < 0) {
+			throw new ModuleVersionStringInvalidException("version '" + limitation.substring(from, to) + "' is invalid (blocks of 0-999, followed by optional wildcards x)");
+		}
+		if(blocks == 0) {
+			return upper ? VersionRange.MAX : 0;
+		}
+
+		long version = VersionService.parse(limitation, from, VersionService.blocksEnd(limitation, from, blocks));
+		if(version < 0) {
+			throw new ModuleVersionStringInvalidException(VersionService.error(limitation.substring(from, to), version));
+		}
+		return upper ? VersionService.prefixEnd(version, blocks) : version;
+	}
+
+	/**
+	 * last version starting with the first blocks of version
+	 */
+	private static long prefixEnd(long version, int blocks) {
+		if(blocks == 0) {
+			return VersionRange.MAX;
+		}
+		long unit = UNITS[Math.min(blocks, BLOCKS) - 1];
+		return version - version % unit + unit - 1;
+	}
+
+	/**
+	 * numeric blocks, only followed by wildcard-blocks
+	 *
+	 * @return {@link Integer} count of numeric blocks, -1 => invalid
+	 */
+	private static int countBlocks(String limitation, int from, int to) {
+		int blocks = 0;
+		boolean wildcard = false;
+		int start = from;
+		for (int i = from; i <= to; i++) {
+			if(i < to && limitation.charAt(i) != '.') {
+				continue;
+			}
+
+			char first = i > start ? limitation.charAt(start) : '.';
+			if(i - start == 1 && (first == 'x' || first == 'X' || first == '*')) {
+				wildcard = true;
+			} else if(i > start && !wildcard && VersionService.isNumeric(limitation, start, i)) {
+				blocks++;
+			} else {
+				return -1;
+			}
+			start = i + 1;
+		}
+		return blocks;
+	}
+
+	/**
+	 * end of first numeric blocks
+	 */
+	private static int blocksEnd(String limitation, int from, int blocks) {
+		int i = from;
+		for (int block = 0; block < blocks; block++) {
+			if(block > 0) {
+				i++;
+			}
+			while(i < limitation.length() && limitation.charAt(i) >= '0' && limitation.charAt(i) <= '9') {
+				i++;
+			}
+		}
+		return i;
+	}
+
+	private static boolean isNumeric(String limitation, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if(limitation.charAt(i) < '0' || limitation.charAt(i) > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int skipSpaces(String limitation, int from, int to) {
+		while(from < to && limitation.charAt(from) == ' ') {
+			from++;
+		}
+		return from;
+	}
+
+	/**
+	 * check expression-match between first-second-values (primitive, no boxing)
+	 *
+	 * [first] expression [second]
+	 *
+	 * @param first {@link Long} numeric version
+	 * @param second {@link Long} numeric version
 	 * @param expression {@link VersionExpression}
 	 * @return {@link Boolean}
 	 */
-	public static boolean match(VersionInfo firstInfo, VersionInfo secondInfo, VersionExpression expression) {
+	public static boolean match(long first, long second, VersionExpression expression) {
 		switch (expression) {
 		case AFTER:
-			return firstInfo.getVersionNumeric() > secondInfo.getVersionNumeric();
+			return first > second;
 		case AFTER_AND_SAME:
-			return firstInfo.getVersionNumeric() >= secondInfo.getVersionNumeric();
+			return first >= second;
 		case BEFORE:
-			return firstInfo.getVersionNumeric() < secondInfo.getVersionNumeric();
+			return first < second;
 		case BEFORE_AND_SAME:
-			return firstInfo.getVersionNumeric() <= secondInfo.getVersionNumeric();
+			return first <= second;
 		case NOT:
-			return firstInfo.getVersionNumeric() != secondInfo.getVersionNumeric();
+			return first != second;
 		case DEFAULT:
 		case SAME:
-			return firstInfo.getVersionNumeric() == secondInfo.getVersionNumeric();
+			return first == second;
 		default:
 			return false;
 		}
 	}
+
+	/**
+	 * check expression-match between first-second-values
+	 *
+	 * @param firstInfo {@link VersionInfo}
+	 * @param secondInfo {@link VersionInfo}
+	 * @param expression {@link VersionExpression}
+	 * @return {@link Boolean}
+	 */
+	public static boolean match(VersionInfo firstInfo, VersionInfo secondInfo, VersionExpression expression) {
+		return VersionService.match(firstInfo.getVersionNumeric(), secondInfo.getVersionNumeric(), expression);
+	}
 }
@@ -0,0 +1,250 @@
+package de.curoerp.wiring.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import de.curoerp.core.modularity.dependency.IModuleWiring;
+import de.curoerp.core.modularity.module.Module;
+import de.curoerp.core.modularity.module.ModuleInfo;
+import de.curoerp.core.modularity.module.TypeInfo;
+
+/**
+ * Wiring Processor
+ *
+ * generates the static wiring (see {@link IModuleWiring}) of the module described by cmod.yml,
+ * so the runtime can skip the reflective discovery of every type.
+ *
+ * cmod.yml is searched in option -Acuroerp.cmod=PATH, the source-path and the class-output.
+ *
+ * @category Dependency loading System
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(WiringProcessor.OPTION_CMOD)
+public class WiringProcessor extends AbstractProcessor {
+
+	public final static String OPTION_CMOD = "curoerp.cmod";
+
+	// TypeWiring.Constructor0..6
+	private final static int MAX_DIRECT_ARITY = 6;
+
+	private final static List<String> INJECTABLE_GENERICS = Arrays.asList(
+			Supplier.class.getName(), List.class.getName(), Iterable.class.getName());
+
+	private boolean generated = false;
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if(this.generated || roundEnv.processingOver()) {
+			return false;
+		}
+		this.generated = true;
+
+		ModuleInfo info = this.loadModuleInfo();
+		if(info == null) {
+			this.processingEnv.getMessager().printMessage(Kind.NOTE, "cmod.yml not found, no wiring generated");
+			return false;
+		}
+
+		if(info.typeInfos == null || info.typeInfos.length == 0) {
+			this.processingEnv.getMessager().printMessage(Kind.NOTE, "cmod.yml without typeInfos, no wiring generated");
+			return false;
+		}
+
+		String className = IModuleWiring.getClassName(Module.parseSystemName(info.name));
+		ArrayList<String> wirings = new ArrayList<>();
+		for (TypeInfo type : info.typeInfos) {
+			String wiring = this.wire(type);
+			if(wiring == null) {
+				// error already reported
+				return false;
+			}
+			wirings.add(wiring);
+		}
+
+		try {
+			this.write(className, info.name, wirings);
+		} catch (IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.ERROR, "wiring '" + className + "' can not be written: " + e.getMessage());
+		}
+
+		return false;
+	}
+
+	/*
+	 * cmod.yml
+	 */
+
+	private ModuleInfo loadModuleInfo() {
+		try {
+			String path = this.processingEnv.getOptions().get(OPTION_CMOD);
+			if(path != null) {
+				return ModuleInfo.get(new File(path));
+			}
+		} catch (IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.ERROR, "cmod.yml can not be read: " + e.getMessage());
+			return null;
+		}
+
+		for (StandardLocation location : new StandardLocation[] { StandardLocation.SOURCE_PATH, StandardLocation.CLASS_OUTPUT }) {
+			try {
+				FileObject file = this.processingEnv.getFiler().getResource(location, "", "cmod.yml");
+				InputStream stream = file.openInputStream();
+				return ModuleInfo.get(stream);
+			} catch (IOException | IllegalArgumentException e) {
+				// location not available or no cmod.yml
+			}
+		}
+
+		return null;
+	}
+
+	/*
+	 * Wiring
+	 */
+
+	/**
+	 * validate type like the runtime does and build its wiring expression
+	 *
+	 * @param type {@link TypeInfo}
+	 * @return {@link String} java expression, null on error
+	 */
+	private String wire(TypeInfo type) {
+		TypeElement element = this.findType(type.type);
+		if(element == null || !element.getModifiers().contains(Modifier.PUBLIC)) {
+			this.error("type '" + type.type + "' not found or not public");
+			return null;
+		}
+
+		// api
+		String api = "null";
+		if(type.api != null && type.api.trim().length() > 0) {
+			TypeElement apiElement = this.findType(type.api);
+			if(apiElement == null) {
+				this.error("api '" + type.api + "' not found");
+				return null;
+			}
+			if(!this.processingEnv.getTypeUtils().isAssignable(element.asType(), this.processingEnv.getTypeUtils().erasure(apiElement.asType()))) {
+				this.error("type '" + type.type + "' doesn't implement api '" + type.api + "'");
+				return null;
+			}
+			api = apiElement.getQualifiedName() + ".class";
+		}
+
+		// constructor (max = 1)
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(element.getEnclosedElements()).stream()
+				.filter(c -> c.getModifiers().contains(Modifier.PUBLIC))
+				.collect(Collectors.toList());
+		if(constructors.size() != 1) {
+			this.error("type '" + type.type + "' needs exactly 1 public constructor");
+			return null;
+		}
+
+		// up to MAX_DIRECT_ARITY: (Object a0, Object a1, ...) => TypeWiring.Constructor0..6, more: (Object[] args) => array
+		List<? extends VariableElement> constructorParameters = constructors.get(0).getParameters();
+		boolean direct = constructorParameters.size() <= MAX_DIRECT_ARITY;
+
+		ArrayList<String> parameters = new ArrayList<>();
+		ArrayList<String> elements = new ArrayList<>();
+		ArrayList<String> lambdaParameters = new ArrayList<>();
+		ArrayList<String> arguments = new ArrayList<>();
+		boolean generic = false;
+		for (VariableElement parameter : constructorParameters) {
+			String erasure = this.processingEnv.getTypeUtils().erasure(parameter.asType()).toString();
+			String elementType = this.findElement(erasure, parameter.asType());
+			generic |= elementType != null;
+
+			String argument = direct ? "a" + parameters.size() : "args[" + parameters.size() + "]";
+			lambdaParameters.add("Object " + argument);
+			arguments.add("(" + erasure + ") " + argument);
+			parameters.add(erasure + ".class");
+			elements.add(elementType != null ? elementType + ".class" : "null");
+		}
+
+		// explicitly typed lambda: selects the TypeWiring constructor of its arity
+		return "new TypeWiring(" + element.getQualifiedName() + ".class, " + api + ", "
+				+ "new Class<?>[] {" + String.join(", ", parameters) + "}, "
+				+ (generic ? "new Class<?>[] {" + String.join(", ", elements) + "}, " : "null, ")
+				+ "(" + (direct ? String.join(", ", lambdaParameters) : "Object[] args") + ") -> new " + element.getQualifiedName() + "(" + String.join(", ", arguments) + "))";
+	}
+
+	/**
+	 * element type of injected Supplier&lt;T&gt;, List&lt;T&gt;, Iterable&lt;T&gt; (like ParameterBinding)
+	 *
+	 * @return {@link String} erasure of T, null if parameter isn't one of them
+	 */
+	private String findElement(String erasure, TypeMirror type) {
+		if(!INJECTABLE_GENERICS.contains(erasure) || type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+
+		List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+		if(arguments.isEmpty() || arguments.get(0).getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		return this.processingEnv.getTypeUtils().erasure(arguments.get(0)).toString();
+	}
+
+	private TypeElement findType(String fqn) {
+		// binary name (cmod.yml) => canonical name
+		return this.processingEnv.getElementUtils().getTypeElement(fqn.trim().replace('$', '.'));
+	}
+
+	private void error(String message) {
+		this.processingEnv.getMessager().printMessage(Kind.ERROR, "wiring: " + message);
+	}
+
+	private void write(String className, String moduleName, List<String> wirings) throws IOException {
+		JavaFileObject file = this.processingEnv.getFiler().createSourceFile(className);
+		String simpleName = className.substring(className.lastIndexOf('.') + 1);
+
+		try (Writer writer = file.openWriter()) {
+			writer.write("package " + IModuleWiring.PACKAGE + ";\n\n");
+			writer.write("import " + IModuleWiring.class.getName() + ";\n");
+			writer.write("import de.curoerp.core.modularity.dependency.TypeWiring;\n\n");
+			writer.write("/**\n * Generated wiring of module '" + moduleName + "' (cmod.yml), do not edit!\n */\n");
+			writer.write("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n");
+			writer.write("public final class " + simpleName + " implements IModuleWiring {\n\n");
+			writer.write("\t@Override\n");
+			writer.write("\tpublic TypeWiring[] getTypes() {\n");
+			writer.write("\t\treturn new TypeWiring[] {\n");
+			for (String wiring : wirings) {
+				writer.write("\t\t\t" + wiring + ",\n");
+			}
+			writer.write("\t\t};\n");
+			writer.write("\t}\n\n");
+			writer.write("}\n");
+		}
+	}
+
+}